@@ -0,0 +1,139 @@
+package com.darsh.benchmark;
+
+import com.darsh.executor.AsyncExecutionStrategy;
+import com.darsh.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The pipeline shapes used in {@code Main}, run end to end (including the hop onto the executor
+ * and back) on the common pool or on an {@link AsyncExecutionStrategy}.
+ * <p>
+ * {@code VIRTUAL} needs JDK 21+, so it is not in the default parameter list; pass
+ * {@code -p executor=VIRTUAL} when running on a newer JDK.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipelineBenchmark {
+
+    @Param({"1000", "100000"})
+    private int catalogueSize;
+
+    @Param({"COMMON_POOL", "PLATFORM"})
+    private String executor;
+
+    private ProductService productService;
+    private AsyncExecutionStrategy strategy;
+    private Executor blockingExecutor;
+    private Executor cpuExecutor;
+    private int[] productIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        productService = new ProductService(ProductLookupBenchmark.Catalogue.products(catalogueSize),
+                ProductLookupBenchmark.Catalogue.reviews(catalogueSize, 10));
+        productIds = new SplittableRandom(7).ints(1024, 1, catalogueSize + 1).toArray();
+        if ("COMMON_POOL".equals(executor)) {
+            blockingExecutor = ForkJoinPool.commonPool();
+            cpuExecutor = ForkJoinPool.commonPool();
+        } else {
+            strategy = AsyncExecutionStrategy.of(AsyncExecutionStrategy.Mode.valueOf(executor));
+            blockingExecutor = strategy.blockingExecutor();
+            cpuExecutor = strategy.cpuExecutor();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (strategy != null) {
+            strategy.close();
+        }
+    }
+
+    /**
+     * Per-thread cursor over the shared random ids, so benchmark threads do not contend on it.
+     */
+    @State(Scope.Thread)
+    public static class Ids {
+        private int[] productIds;
+        private int cursor;
+
+        @Setup(Level.Trial)
+        public void setUp(PipelineBenchmark benchmark) {
+            productIds = benchmark.productIds;
+            cursor = (int) Thread.currentThread().getId();
+        }
+
+        int next() {
+            return productIds[cursor++ & (productIds.length - 1)];
+        }
+    }
+
+    /**
+     * supplyAsync(getProductById) -> thenApply -> handle -> thenAccept, as in the first pipeline of {@code Main}.
+     */
+    @Benchmark
+    public void productNamePipeline(Blackhole blackhole, Ids ids) {
+        int id = ids.next();
+        CompletableFuture.supplyAsync(() -> productService.getProductById(id), blockingExecutor)
+                .thenApplyAsync(product -> product.getName().toUpperCase(), cpuExecutor)
+                .handle((name, ex) -> ex != null ? "Default Product Name" : name)
+                .thenAccept(blackhole::consume)
+                .join();
+    }
+
+    /**
+     * A lookup that misses, so the pipeline goes through the exception path of {@code handle}.
+     */
+    @Benchmark
+    public void productNotFoundPipeline(Blackhole blackhole) {
+        CompletableFuture.supplyAsync(() -> productService.getProductById(-1), blockingExecutor)
+                .thenApplyAsync(product -> product.getName().toUpperCase(), cpuExecutor)
+                .handle((name, ex) -> ex != null ? "Default Product Name" : name)
+                .thenAccept(blackhole::consume)
+                .join();
+    }
+
+    @Benchmark
+    public List<String> reviewPipeline(Ids ids) {
+        int id = ids.next();
+        return CompletableFuture.supplyAsync(() -> productService.getReviewsByProductId(id), blockingExecutor)
+                .thenApplyAsync(reviews -> reviews.stream().map(review -> review.getReview().toUpperCase()).toList(),
+                        cpuExecutor)
+                .join();
+    }
+
+    /**
+     * The page-by-page upper-cased name listing from the second pipeline of {@code Main}.
+     */
+    @Benchmark
+    public void productListingPipeline(Blackhole blackhole) {
+        CompletableFuture.runAsync(() -> productService.streamProducts(1000)
+                        .map(product -> product.getName().toUpperCase())
+                        .forEach(blackhole::consume), blockingExecutor)
+                .join();
+    }
+}
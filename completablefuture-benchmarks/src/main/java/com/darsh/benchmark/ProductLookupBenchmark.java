@@ -0,0 +1,122 @@
+package com.darsh.benchmark;
+
+import com.darsh.model.Product;
+import com.darsh.model.Review;
+import com.darsh.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the indexed {@link ProductService} lookups against the original list scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductLookupBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int catalogueSize;
+
+    @Param({"10"})
+    private int reviewsPerProduct;
+
+    private List<Product> products;
+    private List<Review> reviews;
+    private ProductService productService;
+    private int[] productIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        products = Catalogue.products(catalogueSize);
+        reviews = Catalogue.reviews(catalogueSize, reviewsPerProduct);
+        productService = new ProductService(products, reviews);
+        productIds = new SplittableRandom(7).ints(1024, 1, catalogueSize + 1).toArray();
+    }
+
+    /**
+     * Per-thread cursor over the shared random ids, so benchmark threads do not contend on it.
+     */
+    @State(Scope.Thread)
+    public static class Ids {
+        private int[] productIds;
+        private int cursor;
+
+        @Setup(Level.Trial)
+        public void setUp(ProductLookupBenchmark benchmark) {
+            productIds = benchmark.productIds;
+            cursor = (int) Thread.currentThread().getId();
+        }
+
+        int next() {
+            return productIds[cursor++ & (productIds.length - 1)];
+        }
+    }
+
+    @Benchmark
+    public Product productByIdListScan(Ids ids) {
+        int productId = ids.next();
+        return products.stream()
+                .filter(product -> product.getProductId() == productId)
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Exception"));
+    }
+
+    @Benchmark
+    public Product productByIdIndexed(Ids ids) {
+        return productService.getProductById(ids.next());
+    }
+
+    @Benchmark
+    public List<Review> reviewsByProductIdListScan(Ids ids) {
+        int productId = ids.next();
+        return reviews.stream()
+                .filter(review -> review.getProductId() == productId)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Review> reviewsByProductIdIndexed(Ids ids) {
+        return productService.getReviewsByProductId(ids.next());
+    }
+
+    static final class Catalogue {
+        private Catalogue() {
+        }
+
+        static List<Product> products(int size) {
+            List<Product> products = new ArrayList<>(size);
+            for (int id = 1; id <= size; id++) {
+                products.add(new Product(id, "Product " + id));
+            }
+            return products;
+        }
+
+        static List<Review> reviews(int size, int perProduct) {
+            SplittableRandom random = new SplittableRandom(42);
+            List<Review> reviews = new ArrayList<>(size * perProduct);
+            for (int i = 0; i < size * perProduct; i++) {
+                reviews.add(new Review(random.nextInt(size) + 1, "Review " + i));
+            }
+            return reviews;
+        }
+    }
+}
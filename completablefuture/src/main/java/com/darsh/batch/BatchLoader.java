@@ -0,0 +1,166 @@
+package com.darsh.batch;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * DataLoader-style coalescing of single-id loads into batch calls.
+ * <p>
+ * Every {@link #load(int)} joins the current pending batch. The batch is dispatched once the
+ * window after its first request elapses, or as soon as it reaches {@code maxBatchSize}.
+ * Duplicate ids within a batch share one future. The batch function receives the distinct ids
+ * and must return a list aligned with them; a {@code null} entry fails that id's future. Anything the
+ * batch function throws, {@link Error}s included, fails every future of the batch, as does the
+ * executor rejecting it. {@link #close()} flushes the pending batch and fails later loads.
+ */
+public class BatchLoader<V> implements AutoCloseable {
+    private final Function<int[], List<V>> batchFunction;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+    private final Executor executor;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    private Map<Integer, CompletableFuture<V>> pending = new LinkedHashMap<>();
+    private boolean closed;
+
+    public BatchLoader(Function<int[], List<V>> batchFunction, Duration window, int maxBatchSize,
+                       ScheduledExecutorService scheduler, Executor executor) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive: " + maxBatchSize);
+        }
+        this.batchFunction = batchFunction;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = scheduler;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<V> load(int id) {
+        requests.increment();
+        Map<Integer, CompletableFuture<V>> full = null;
+        CompletableFuture<V> future;
+        synchronized (this) {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("BatchLoader is closed"));
+            }
+            future = pending.get(id);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                if (pending.isEmpty()) {
+                    Map<Integer, CompletableFuture<V>> batch = pending;
+                    scheduler.schedule(() -> dispatch(batch), window.toNanos(), TimeUnit.NANOSECONDS);
+                }
+                pending.put(id, future);
+                if (pending.size() >= maxBatchSize) {
+                    full = pending;
+                    pending = new LinkedHashMap<>();
+                }
+            }
+        }
+        if (full != null) {
+            submit(full);
+        }
+        return future;
+    }
+
+    public List<CompletableFuture<V>> loadMany(int[] ids) {
+        List<CompletableFuture<V>> futures = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            futures.add(load(id));
+        }
+        return futures;
+    }
+
+    /**
+     * Number of {@link #load(int)} calls so far.
+     */
+    public long requestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * Number of batch calls made to the backend so far.
+     */
+    public long batchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * Dispatches the pending batch now instead of waiting for its window; loads after this fail.
+     */
+    @Override
+    public void close() {
+        Map<Integer, CompletableFuture<V>> batch;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        }
+        if (!batch.isEmpty()) {
+            submit(batch);
+        }
+    }
+
+    private void dispatch(Map<Integer, CompletableFuture<V>> batch) {
+        synchronized (this) {
+            if (batch != pending) {
+                // Already dispatched because it filled up before the window elapsed.
+                return;
+            }
+            pending = new LinkedHashMap<>();
+        }
+        submit(batch);
+    }
+
+    private void submit(Map<Integer, CompletableFuture<V>> batch) {
+        try {
+            executor.execute(() -> run(batch));
+        } catch (RejectedExecutionException ex) {
+            batch.values().forEach(future -> future.completeExceptionally(ex));
+        }
+    }
+
+    private void run(Map<Integer, CompletableFuture<V>> batch) {
+        batches.increment();
+        int[] ids = new int[batch.size()];
+        List<CompletableFuture<V>> futures = new ArrayList<>(batch.size());
+        int i = 0;
+        for (Map.Entry<Integer, CompletableFuture<V>> entry : batch.entrySet()) {
+            ids[i++] = entry.getKey();
+            futures.add(entry.getValue());
+        }
+        try {
+            List<V> values = batchFunction.apply(ids);
+            for (i = 0; i < ids.length; i++) {
+                V value = i < values.size() ? values.get(i) : null;
+                if (value == null) {
+                    futures.get(i).completeExceptionally(new RuntimeException("No value for id " + ids[i]));
+                } else {
+                    futures.get(i).complete(value);
+                }
+            }
+        } catch (Throwable ex) {
+            // Already completed futures ignore this; an Error still reaches the executor afterwards
+            futures.forEach(future -> future.completeExceptionally(ex));
+            if (ex instanceof Error error) {
+                throw error;
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.darsh.cache;
+
+import com.darsh.executor.AsyncExecutionStrategy;
+import com.darsh.model.Product;
+import com.darsh.service.ProductService;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Async loading cache in front of {@link ProductService#getProductById(int)}.
+ * <p>
+ * Values are held as {@code CompletableFuture<Product>}, so concurrent misses for the same id
+ * share one in-flight load. Caffeine bounds the size with W-TinyLFU eviction, expires entries
+ * after write, and refreshes entries older than the refresh interval in the background on their
+ * next read, so callers keep getting the current value instead of waiting for the reload.
+ */
+public class ProductCache {
+    private static final long DEFAULT_MAXIMUM_SIZE = 100_000;
+    private static final Duration DEFAULT_EXPIRE_AFTER_WRITE = Duration.ofMinutes(10);
+    private static final Duration DEFAULT_REFRESH_AFTER_WRITE = Duration.ofMinutes(1);
+
+    private final AsyncLoadingCache<Integer, Product> cache;
+
+    public ProductCache(ProductService productService, AsyncExecutionStrategy strategy) {
+        this(productService, DEFAULT_MAXIMUM_SIZE, DEFAULT_EXPIRE_AFTER_WRITE, DEFAULT_REFRESH_AFTER_WRITE,
+                strategy.blockingExecutor());
+    }
+
+    public ProductCache(ProductService productService, long maximumSize, Duration expireAfterWrite,
+                        Duration refreshAfterWrite, Executor executor) {
+        if (refreshAfterWrite.compareTo(expireAfterWrite) >= 0) {
+            throw new IllegalArgumentException("Refresh interval " + refreshAfterWrite
+                    + " must be shorter than expiry " + expireAfterWrite);
+        }
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .refreshAfterWrite(refreshAfterWrite)
+                .executor(executor)
+                .recordStats()
+                .buildAsync((Integer id) -> productService.getProductById(id));
+    }
+
+    public CompletableFuture<Product> getProductById(int id) {
+        return cache.get(id);
+    }
+
+    public void invalidate(int id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    /**
+     * Hit, miss, load-time and eviction counters since the cache was created.
+     */
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    public long estimatedSize() {
+        return cache.synchronous().estimatedSize();
+    }
+}
@@ -0,0 +1,142 @@
+package com.darsh.executor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides which executor each kind of {@code CompletableFuture} stage runs on, so blocking I/O
+ * never competes with CPU-bound work for the same threads (as it does on the common pool).
+ * <ul>
+ *     <li>{@link Mode#PLATFORM}: two {@link BoundedExecutor}s, one sized for CPU-bound stages and a
+ *     separate, larger one for blocking lookups.</li>
+ *     <li>{@link Mode#VIRTUAL}: the same two pools, but the blocking one runs on virtual threads
+ *     (JDK 21+). It has as many workers and as long a queue as the platform one, so a burst of
+ *     lookups is throttled and rejected the same way in both modes.</li>
+ * </ul>
+ */
+public class AsyncExecutionStrategy implements AutoCloseable {
+
+    public enum Mode {
+        PLATFORM,
+        VIRTUAL
+    }
+
+    private static final MethodHandle NEW_VIRTUAL_THREAD_FACTORY = findVirtualThreadFactory();
+
+    private final Mode mode;
+    private final BoundedExecutor cpuExecutor;
+    private final BoundedExecutor blockingExecutor;
+
+    private AsyncExecutionStrategy(Mode mode, BoundedExecutor cpuExecutor, BoundedExecutor blockingExecutor) {
+        this.mode = mode;
+        this.cpuExecutor = cpuExecutor;
+        this.blockingExecutor = blockingExecutor;
+    }
+
+    /**
+     * Bounded platform pools: one thread per core for CPU work and {@code blockingThreads} for blocking I/O.
+     */
+    public static AsyncExecutionStrategy platform(int blockingThreads, int queueCapacity) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        return new AsyncExecutionStrategy(Mode.PLATFORM,
+                new BoundedExecutor("async-cpu", cores, queueCapacity),
+                new BoundedExecutor("async-io", blockingThreads, queueCapacity));
+    }
+
+    /**
+     * {@code blockingThreads} virtual threads for blocking I/O, bounded like {@link #platform}. Requires JDK 21 or later.
+     */
+    public static AsyncExecutionStrategy virtual(int blockingThreads, int queueCapacity) {
+        if (!virtualThreadsSupported()) {
+            throw new IllegalStateException("Virtual threads need JDK 21+, running on "
+                    + Runtime.version().feature());
+        }
+        ThreadFactory virtualThreads;
+        try {
+            virtualThreads = (ThreadFactory) NEW_VIRTUAL_THREAD_FACTORY.invoke();
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Could not create virtual thread factory", ex);
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        return new AsyncExecutionStrategy(Mode.VIRTUAL,
+                new BoundedExecutor("async-cpu", cores, queueCapacity),
+                new BoundedExecutor("async-io-virtual", blockingThreads, queueCapacity, virtualThreads));
+    }
+
+    /**
+     * Virtual threads when the running JDK supports them, bounded platform pools otherwise.
+     */
+    public static AsyncExecutionStrategy defaults() {
+        return of(virtualThreadsSupported() ? Mode.VIRTUAL : Mode.PLATFORM);
+    }
+
+    public static AsyncExecutionStrategy of(Mode mode) {
+        int blockingThreads = Runtime.getRuntime().availableProcessors() * 8;
+        int queueCapacity = 10_000;
+        return mode == Mode.VIRTUAL
+                ? virtual(blockingThreads, queueCapacity)
+                : platform(blockingThreads, queueCapacity);
+    }
+
+    public static boolean virtualThreadsSupported() {
+        return NEW_VIRTUAL_THREAD_FACTORY != null;
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    /**
+     * Executor for CPU-bound stages such as mapping and combining results.
+     */
+    public BoundedExecutor cpuExecutor() {
+        return cpuExecutor;
+    }
+
+    /**
+     * Executor for stages that block, such as product and review lookups.
+     */
+    public BoundedExecutor blockingExecutor() {
+        return blockingExecutor;
+    }
+
+    /**
+     * Tasks rejected by the bounded pools so far.
+     */
+    public long rejectedCount() {
+        return cpuExecutor.rejectedCount() + blockingExecutor.rejectedCount();
+    }
+
+    @Override
+    public void close() {
+        cpuExecutor.shutdown();
+        blockingExecutor.shutdown();
+        try {
+            cpuExecutor.awaitTermination(5, TimeUnit.SECONDS);
+            blockingExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return mode + "[cpu=" + cpuExecutor + ", blocking=" + blockingExecutor + "]";
+    }
+
+    // Thread.ofVirtual().factory(), looked up reflectively so the module still builds on JDK 17
+    private static MethodHandle findVirtualThreadFactory() {
+        try {
+            Class<?> ofVirtual = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            return MethodHandles.filterReturnValue(
+                    lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtual)),
+                    lookup.findVirtual(ofVirtual, "factory", MethodType.methodType(ThreadFactory.class)));
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.darsh.executor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size thread pool with a bounded queue. Tasks that do not fit are rejected with a
+ * {@link RejectedExecutionException} instead of queueing without limit, and counted. Workers are
+ * platform threads unless another {@link ThreadFactory}, such as one for virtual threads, is given.
+ */
+public class BoundedExecutor extends ThreadPoolExecutor {
+    private final String name;
+    private final LongAdder rejected = new LongAdder();
+
+    public BoundedExecutor(String name, int threads, int queueCapacity) {
+        this(name, threads, queueCapacity, Thread::new);
+    }
+
+    public BoundedExecutor(String name, int threads, int queueCapacity, ThreadFactory threadFactory) {
+        super(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                namedDaemons(name, threadFactory));
+        this.name = name;
+        setRejectedExecutionHandler((task, executor) -> {
+            rejected.increment();
+            throw new RejectedExecutionException("Executor " + name + " is saturated: "
+                    + executor.getActiveCount() + " active, " + executor.getQueue().size() + " queued");
+        });
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public int queueSize() {
+        return getQueue().size();
+    }
+
+    @Override
+    public String toString() {
+        return name + "[active=" + getActiveCount() + ", queued=" + queueSize()
+                + ", completed=" + getCompletedTaskCount() + ", rejected=" + rejectedCount() + "]";
+    }
+
+    private static ThreadFactory namedDaemons(String name, ThreadFactory threadFactory) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = threadFactory.newThread(runnable);
+            thread.setName(name + "-" + count.incrementAndGet());
+            // Virtual threads are always daemons and refuse setDaemon(false) only
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,13 +1,21 @@
 package com.darsh.main;
 
+import com.darsh.executor.AsyncExecutionStrategy;
+
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 public class CompletableFutureSimple {
-    public static void main(String[] args) throws InterruptedException {
+    public static void main(String[] args) {
         System.out.println("Main Starts");
-        CompletableFuture<String> completableFuture = slowTask();
-        completableFuture.thenAccept(System.out::println);
-        System.out.println("Method Ends");
+        try (AsyncExecutionStrategy strategy = AsyncExecutionStrategy.defaults()) {
+            CompletableFuture<String> completableFuture = slowTask(strategy.blockingExecutor());
+            CompletableFuture<Void> printed = completableFuture.thenAccept(System.out::println);
+            System.out.println("Method Ends");
+            // The slow task no longer holds up the caller, so wait for it before exiting
+            printed.join();
+        }
         System.out.println("Main Ends");
     }
 
@@ -18,10 +26,16 @@ public class CompletableFutureSimple {
         return completableFuture;
     }
 
-    public static CompletableFuture<String> slowTask() throws InterruptedException {
-        CompletableFuture<String> completableFuture = new CompletableFuture<>();
-        Thread.sleep(2000);
-        completableFuture.complete("Hello from slow task");
-        return completableFuture;
+    public static CompletableFuture<String> slowTask(Executor blockingExecutor) {
+        // The sleep stands in for blocking I/O, so it runs on the blocking pool instead of the caller thread
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+            return "Hello from slow task";
+        }, blockingExecutor);
     }
 }
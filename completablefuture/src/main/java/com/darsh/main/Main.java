@@ -1,16 +1,26 @@
 package com.darsh.main;
 
+import com.darsh.cache.ProductCache;
+import com.darsh.executor.AsyncExecutionStrategy;
+import com.darsh.model.Product;
+import com.darsh.service.ProductInfoService;
 import com.darsh.service.ProductService;
+import com.darsh.service.ResilientProductService;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 public class Main {
     public static void main(String[] args) {
 
         ProductService productService = new ProductService();
+        // Lookups run on the blocking pool, transformations on the CPU pool, never on the common pool
+        AsyncExecutionStrategy strategy = AsyncExecutionStrategy.defaults();
 
-        CompletableFuture.supplyAsync(() -> productService.getProductById(1))
-                .thenApply(product -> product.getName().toUpperCase())
+        // Bulkhead, circuit breaker and hedging fail fast or race a second attempt before the fallback is needed
+        ResilientProductService resilientProductService = new ResilientProductService(productService, strategy);
+        resilientProductService.getProductById(1)
+                .thenApplyAsync(product -> product.getName().toUpperCase(), strategy.cpuExecutor())
                 .handle((product, ex) -> {
                     if (ex != null) {
                         System.out.println("Product not found");
@@ -21,22 +31,31 @@ public class Main {
                 })
                 .thenAccept(System.out::println);  // Process the result or default value
 
-        CompletableFuture.supplyAsync(() -> productService.getProducts())
-                .thenApply(products -> products.stream()
-                        .map(product -> product.getName().toUpperCase())
-                        .toList())
-                .handle((productName, ex) -> {
-                    if (ex != null) {
-                        System.out.println("An error occurred: " + ex.getMessage());
-                        // Return a default or fallback value in case of an error
-                        return "Default Product Name";
-                    } else {
-                        return productName;
-                    }})
-                .thenAccept(finalProductName -> {
-                    System.out.println("Product name: " + finalProductName);
+        // Walk the catalogue page by page instead of materialising the whole product list
+        CompletableFuture.runAsync(() -> {
+                    try (Stream<Product> products = productService.streamProducts(2)) {
+                        products.map(product -> product.getName().toUpperCase())
+                                .forEach(productName -> System.out.println("Product name: " + productName));
+                    }
+                }, strategy.blockingExecutor())
+                .exceptionally(ex -> {
+                    System.out.println("An error occurred: " + ex.getMessage());
+                    return null;
+                });
+
+        ProductInfoService productInfoService = new ProductInfoService(productService, strategy);
+        productInfoService.getProductInfo(1)
+                .thenAccept(productInfo -> System.out.println("Product info: " + productInfo))
+                .exceptionally(ex -> {
+                    System.out.println("Product info unavailable: " + ex.getMessage());
+                    return null;
                 });
 
+        // Concurrent misses for the same id share one load; the second call is a hit
+        ProductCache productCache = new ProductCache(productService, strategy);
+        CompletableFuture.allOf(productCache.getProductById(2), productCache.getProductById(2))
+                .thenCompose(ignored -> productCache.getProductById(2))
+                .thenAccept(product -> System.out.println("Cached: " + product + " " + productCache.stats()));
 
         // Prevent the main thread from exiting immediately
         System.out.println("Executing in main thread");
@@ -45,6 +64,10 @@ public class Main {
         } catch (InterruptedException e) {
             e.printStackTrace();
         }
+        System.out.println("Executors: " + strategy);
+        System.out.println("Product calls: " + resilientProductService.productPolicy());
+        resilientProductService.close();
+        strategy.close();
     }
 }
 
@@ -5,12 +5,16 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
+import java.util.List;
+
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
 @ToString
 public class ProductInfo {
     private Product product;
-    private Review review;
+    private List<Review> reviews;
+    // true when the reviews did not arrive within their budget and were left empty
+    private boolean partial;
 
 }
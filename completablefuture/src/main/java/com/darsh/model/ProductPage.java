@@ -0,0 +1,18 @@
+package com.darsh.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ProductPage {
+    private List<Product> products;
+    // productId to pass as the cursor for the next page, null on the last page
+    private Integer nextCursor;
+}
@@ -12,4 +12,10 @@ import lombok.ToString;
 public class Review {
     private int productId;
     private String review;
+    // 1 to 5 stars, 0 when the review has no rating
+    private int rating;
+
+    public Review(int productId, String review) {
+        this(productId, review, 0);
+    }
 }
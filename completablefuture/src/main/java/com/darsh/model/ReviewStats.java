@@ -0,0 +1,19 @@
+package com.darsh.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ReviewStats {
+    private int productId;
+    private long reviewCount;
+    private long ratedCount;
+    private double averageRating;
+    // ratingCounts[i] is the number of (i + 1)-star ratings
+    private long[] ratingCounts;
+}
@@ -0,0 +1,53 @@
+package com.darsh.resilience;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of in-flight async calls. Calls over the limit fail immediately with
+ * {@link BulkheadFullException} instead of piling up behind a slow backend.
+ */
+public class Bulkhead {
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final Semaphore permits;
+    private final LongAdder rejected = new LongAdder();
+
+    public Bulkhead(String name, int maxConcurrentCalls) {
+        this.name = name;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.permits = new Semaphore(maxConcurrentCalls);
+    }
+
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> call) {
+        if (!permits.tryAcquire()) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(
+                    new BulkheadFullException("Bulkhead " + name + " is full with " + maxConcurrentCalls + " calls"));
+        }
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException ex) {
+            permits.release();
+            return CompletableFuture.failedFuture(ex);
+        }
+        future.whenComplete((result, ex) -> permits.release());
+        return future;
+    }
+
+    public int inFlight() {
+        return maxConcurrentCalls - permits.availablePermits();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public String toString() {
+        return name + "[inFlight=" + inFlight() + "/" + maxConcurrentCalls + ", rejected=" + rejectedCount() + "]";
+    }
+}
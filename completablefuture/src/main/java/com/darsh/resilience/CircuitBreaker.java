@@ -0,0 +1,226 @@
+package com.darsh.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Count-based circuit breaker.
+ * <p>
+ * CLOSED records the outcome of the last {@code windowSize} calls and opens once at least
+ * {@code minimumCalls} were seen and the failure rate reaches the threshold. OPEN fails every call
+ * with {@link CallNotPermittedException} until {@code openDuration} has passed, then HALF_OPEN lets
+ * {@code halfOpenCalls} trial calls through: if they all succeed the breaker closes, otherwise it opens again.
+ * <p>
+ * Failures matching the {@code ignored} predicate count neither way. By default that is a
+ * {@link BulkheadFullException}: a local overload says nothing about the backend, so a burst of
+ * load must not open the breaker.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * Thresholds of a breaker; {@link #defaults()} is what ResilientProductService uses unless told otherwise.
+     */
+    public record Config(int windowSize, int minimumCalls, double failureRateThreshold, Duration openDuration,
+                         int halfOpenCalls) {
+
+        public Config {
+            if (windowSize < 1 || minimumCalls < 1 || halfOpenCalls < 1) {
+                throw new IllegalArgumentException("windowSize, minimumCalls and halfOpenCalls must be positive");
+            }
+            if (failureRateThreshold <= 0.0 || failureRateThreshold > 1.0) {
+                throw new IllegalArgumentException("failureRateThreshold must be in (0, 1]: " + failureRateThreshold);
+            }
+        }
+
+        public static Config defaults() {
+            return new Config(100, 20, 0.5, Duration.ofSeconds(30), 5);
+        }
+    }
+
+    private final String name;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final Predicate<Throwable> ignored;
+
+    // Guarded by this
+    private final boolean[] window;
+    private int windowPosition;
+    private int recorded;
+    private int failures;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+    private long notPermitted;
+    private long successes;
+    private long failed;
+    private long ignoredFailures;
+    private long opened;
+
+    public CircuitBreaker(String name, Config config) {
+        this(name, config, BulkheadFullException.class::isInstance);
+    }
+
+    public CircuitBreaker(String name, Config config, Predicate<Throwable> ignored) {
+        this.name = name;
+        this.windowSize = config.windowSize();
+        this.minimumCalls = Math.min(config.minimumCalls(), windowSize);
+        this.failureRateThreshold = config.failureRateThreshold();
+        this.openDurationNanos = config.openDuration().toNanos();
+        this.halfOpenCalls = config.halfOpenCalls();
+        this.ignored = ignored;
+        this.window = new boolean[windowSize];
+    }
+
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> call) {
+        if (!tryAcquirePermission()) {
+            return CompletableFuture.failedFuture(
+                    new CallNotPermittedException("Circuit breaker " + name + " is " + state()));
+        }
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException ex) {
+            onResult(ex);
+            return CompletableFuture.failedFuture(ex);
+        }
+        future.whenComplete((result, ex) -> onResult(ex));
+        return future;
+    }
+
+    public synchronized State state() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos) {
+            transitionTo(State.HALF_OPEN);
+        }
+        return state;
+    }
+
+    public synchronized double failureRate() {
+        return recorded == 0 ? 0.0 : (double) failures / recorded;
+    }
+
+    public synchronized long notPermittedCount() {
+        return notPermitted;
+    }
+
+    public synchronized long successCount() {
+        return successes;
+    }
+
+    public synchronized long failureCount() {
+        return failed;
+    }
+
+    /**
+     * Failures left out of the failure rate, such as bulkhead rejections.
+     */
+    public synchronized long ignoredCount() {
+        return ignoredFailures;
+    }
+
+    /**
+     * How many times the breaker has opened, from CLOSED or from HALF_OPEN.
+     */
+    public synchronized long openedCount() {
+        return opened;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return name + "[state=" + state() + ", failureRate=" + Math.round(failureRate() * 100) + "%"
+                + ", notPermitted=" + notPermitted + ", ignored=" + ignoredFailures + "]";
+    }
+
+    private synchronized boolean tryAcquirePermission() {
+        State current = state();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.HALF_OPEN && halfOpenPermits > 0) {
+            halfOpenPermits--;
+            return true;
+        }
+        notPermitted++;
+        return false;
+    }
+
+    private synchronized void onResult(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        if (cause != null && ignored.test(cause)) {
+            ignoredFailures++;
+            if (state == State.HALF_OPEN) {
+                // Not a trial of the backend, so another call gets the permit
+                halfOpenPermits++;
+            }
+            return;
+        }
+        boolean success = cause == null;
+        if (success) {
+            successes++;
+        } else {
+            failed++;
+        }
+        if (state == State.HALF_OPEN) {
+            if (!success) {
+                transitionTo(State.OPEN);
+            } else if (++halfOpenSuccesses == halfOpenCalls) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            // A call admitted before the breaker opened; its outcome no longer matters.
+            return;
+        }
+        if (recorded == windowSize) {
+            if (!window[windowPosition]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[windowPosition] = success;
+        if (!success) {
+            failures++;
+        }
+        windowPosition = (windowPosition + 1) % windowSize;
+        if (recorded >= minimumCalls && failureRate() >= failureRateThreshold) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void transitionTo(State next) {
+        state = next;
+        switch (next) {
+            case OPEN -> {
+                openedAt = System.nanoTime();
+                opened++;
+            }
+            case HALF_OPEN -> {
+                halfOpenPermits = halfOpenCalls;
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> {
+                recorded = 0;
+                failures = 0;
+                windowPosition = 0;
+            }
+        }
+    }
+}
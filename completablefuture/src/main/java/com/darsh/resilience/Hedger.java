@@ -0,0 +1,124 @@
+package com.darsh.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Hedged requests: if the first attempt has not finished after the observed p95 latency, a second
+ * attempt is sent and whichever succeeds first wins. Only the slowest ~5% of calls pay for a second
+ * request, which trims the p99/p999 tail caused by a single slow backend call. Once the call is
+ * decided, the other attempt is cancelled: one still queued for an executor never runs, one already
+ * running is left to finish but no longer holds its bulkhead permit.
+ */
+public class Hedger {
+    private final String name;
+    private final ScheduledExecutorService scheduler;
+    private final Duration minimumDelay;
+    private final double delayPercentile;
+    private final LatencyHistogram attemptLatency = new LatencyHistogram();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgesWon = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+
+    public Hedger(String name, ScheduledExecutorService scheduler, Duration minimumDelay) {
+        this(name, scheduler, minimumDelay, 95.0);
+    }
+
+    public Hedger(String name, ScheduledExecutorService scheduler, Duration minimumDelay, double delayPercentile) {
+        this.name = name;
+        this.scheduler = scheduler;
+        this.minimumDelay = minimumDelay;
+        this.delayPercentile = delayPercentile;
+    }
+
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        CompletableFuture<T> first = attempt(call, result, pending, false);
+
+        ScheduledFuture<?> hedge = scheduler.schedule(() -> {
+            if (!result.isDone()) {
+                hedges.increment();
+                pending.incrementAndGet();
+                cancelOnceDecided(attempt(call, result, pending, true), result);
+            }
+        }, hedgeDelay().toNanos(), TimeUnit.NANOSECONDS);
+        result.whenComplete((value, ex) -> hedge.cancel(false));
+        cancelOnceDecided(first, result);
+        return result;
+    }
+
+    /**
+     * Current delay before a hedge is sent: the configured percentile of attempt latency, never below the minimum.
+     */
+    public Duration hedgeDelay() {
+        Duration observed = attemptLatency.percentile(delayPercentile);
+        return observed.compareTo(minimumDelay) > 0 ? observed : minimumDelay;
+    }
+
+    public LatencyHistogram attemptLatency() {
+        return attemptLatency;
+    }
+
+    public long hedgeCount() {
+        return hedges.sum();
+    }
+
+    public long hedgesWonCount() {
+        return hedgesWon.sum();
+    }
+
+    /**
+     * Attempts cancelled because the other attempt had already decided the call.
+     */
+    public long cancelledCount() {
+        return cancelled.sum();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name + "[delay=" + hedgeDelay().toMillis() + "ms, hedges=" + hedgeCount()
+                + ", hedgesWon=" + hedgesWonCount() + ", cancelled=" + cancelledCount() + "]";
+    }
+
+    private <T> void cancelOnceDecided(CompletableFuture<T> attempt, CompletableFuture<T> result) {
+        result.whenComplete((value, ex) -> {
+            if (attempt.cancel(false)) {
+                cancelled.increment();
+            }
+        });
+    }
+
+    private <T> CompletableFuture<T> attempt(Supplier<CompletableFuture<T>> call, CompletableFuture<T> result,
+                             AtomicInteger pending, boolean isHedge) {
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException ex) {
+            future = CompletableFuture.failedFuture(ex);
+        }
+        future.whenComplete((value, ex) -> {
+            if (ex == null) {
+                attemptLatency.record(System.nanoTime() - start);
+                if (result.complete(value) && isHedge) {
+                    hedgesWon.increment();
+                }
+            } else if (pending.decrementAndGet() == 0) {
+                // Only fail once no other attempt can still succeed.
+                result.completeExceptionally(ex);
+            }
+        });
+        return future;
+    }
+}
@@ -0,0 +1,35 @@
+package com.darsh.resilience;
+
+import java.time.Duration;
+
+/**
+ * Settings for one {@link ResiliencePolicy}: the bulkhead limit, when to hedge and the breaker thresholds.
+ */
+public record ResilienceConfig(int maxConcurrentCalls, Duration minimumHedgeDelay, double hedgePercentile,
+                               CircuitBreaker.Config circuitBreaker) {
+
+    public ResilienceConfig {
+        if (maxConcurrentCalls < 1) {
+            throw new IllegalArgumentException("maxConcurrentCalls must be positive: " + maxConcurrentCalls);
+        }
+    }
+
+    /**
+     * 64 concurrent calls, hedging at p95 but not before 5 ms, and {@link CircuitBreaker.Config#defaults()}.
+     */
+    public static ResilienceConfig defaults() {
+        return new ResilienceConfig(64, Duration.ofMillis(5), 95.0, CircuitBreaker.Config.defaults());
+    }
+
+    public ResilienceConfig withMaxConcurrentCalls(int maxConcurrentCalls) {
+        return new ResilienceConfig(maxConcurrentCalls, minimumHedgeDelay, hedgePercentile, circuitBreaker);
+    }
+
+    public ResilienceConfig withMinimumHedgeDelay(Duration minimumHedgeDelay) {
+        return new ResilienceConfig(maxConcurrentCalls, minimumHedgeDelay, hedgePercentile, circuitBreaker);
+    }
+
+    public ResilienceConfig withCircuitBreaker(CircuitBreaker.Config circuitBreaker) {
+        return new ResilienceConfig(maxConcurrentCalls, minimumHedgeDelay, hedgePercentile, circuitBreaker);
+    }
+}
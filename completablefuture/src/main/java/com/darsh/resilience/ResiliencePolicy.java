@@ -0,0 +1,120 @@
+package com.darsh.resilience;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Wraps async calls as circuit breaker, then hedging, then bulkhead. An open breaker rejects the
+ * call before anything else happens, and every attempt (including a hedge) needs its own bulkhead
+ * permit, so hedging can never push the backend past the concurrency limit. The breaker does not
+ * count bulkhead rejections as failures, so local overload alone never opens it.
+ * <p>
+ * {@link #bindTo(MeterRegistry)} publishes the state of all three parts as meters tagged with the policy name.
+ */
+public class ResiliencePolicy implements MeterBinder {
+    private final String name;
+    private final CircuitBreaker circuitBreaker;
+    private final Hedger hedger;
+    private final Bulkhead bulkhead;
+    private final LatencyHistogram callLatency = new LatencyHistogram();
+
+    public ResiliencePolicy(String name, CircuitBreaker circuitBreaker, Hedger hedger, Bulkhead bulkhead) {
+        this.name = name;
+        this.circuitBreaker = circuitBreaker;
+        this.hedger = hedger;
+        this.bulkhead = bulkhead;
+    }
+
+    public static ResiliencePolicy of(String name, ResilienceConfig config, ScheduledExecutorService scheduler) {
+        return new ResiliencePolicy(name,
+                new CircuitBreaker(name + "-breaker", config.circuitBreaker()),
+                new Hedger(name + "-hedger", scheduler, config.minimumHedgeDelay(), config.hedgePercentile()),
+                new Bulkhead(name + "-bulkhead", config.maxConcurrentCalls()));
+    }
+
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> call) {
+        long start = System.nanoTime();
+        return circuitBreaker.execute(() -> hedger.execute(() -> bulkhead.execute(call)))
+                .whenComplete((result, ex) -> callLatency.record(System.nanoTime() - start));
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public CircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Hedger hedger() {
+        return hedger;
+    }
+
+    public Bulkhead bulkhead() {
+        return bulkhead;
+    }
+
+    /**
+     * End-to-end latency of calls through the policy, including fast failures.
+     */
+    public LatencyHistogram callLatency() {
+        return callLatency;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Tags tags = Tags.of("policy", name);
+        Gauge.builder("resilience.breaker.state", circuitBreaker, breaker -> breaker.state().ordinal())
+                .description("0 closed, 1 open, 2 half-open").tags(tags).register(registry);
+        Gauge.builder("resilience.breaker.failure.rate", circuitBreaker, CircuitBreaker::failureRate)
+                .tags(tags).register(registry);
+        FunctionCounter.builder("resilience.breaker.opened", circuitBreaker, CircuitBreaker::openedCount)
+                .tags(tags).register(registry);
+        callCounter(registry, tags, "success", CircuitBreaker::successCount);
+        callCounter(registry, tags, "failure", CircuitBreaker::failureCount);
+        callCounter(registry, tags, "ignored", CircuitBreaker::ignoredCount);
+        callCounter(registry, tags, "not_permitted", CircuitBreaker::notPermittedCount);
+
+        FunctionCounter.builder("resilience.hedger.hedges", hedger, Hedger::hedgeCount).tags(tags).register(registry);
+        FunctionCounter.builder("resilience.hedger.hedges.won", hedger, Hedger::hedgesWonCount)
+                .tags(tags).register(registry);
+        FunctionCounter.builder("resilience.hedger.cancelled", hedger, Hedger::cancelledCount)
+                .tags(tags).register(registry);
+        Gauge.builder("resilience.hedger.delay", hedger, h -> seconds(h.hedgeDelay()))
+                .baseUnit("seconds").tags(tags).register(registry);
+
+        Gauge.builder("resilience.bulkhead.in.flight", bulkhead, Bulkhead::inFlight).tags(tags).register(registry);
+        FunctionCounter.builder("resilience.bulkhead.rejected", bulkhead, Bulkhead::rejectedCount)
+                .tags(tags).register(registry);
+
+        FunctionCounter.builder("resilience.calls", callLatency, LatencyHistogram::count).tags(tags).register(registry);
+        for (double percentile : new double[]{50, 95, 99, 99.9}) {
+            Gauge.builder("resilience.call.latency", callLatency, histogram -> seconds(histogram.percentile(percentile)))
+                    .baseUnit("seconds").tags(tags.and("percentile", String.valueOf(percentile)))
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return circuitBreaker + ", " + hedger + ", " + bulkhead + ", latency[" + callLatency + "]";
+    }
+
+    private void callCounter(MeterRegistry registry, Tags tags, String outcome, ToLongFunction<CircuitBreaker> count) {
+        FunctionCounter.builder("resilience.breaker.calls", circuitBreaker, count::applyAsLong)
+                .tags(tags.and("outcome", outcome)).register(registry);
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toNanos() / 1e9;
+    }
+}
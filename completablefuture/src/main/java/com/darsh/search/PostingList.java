@@ -0,0 +1,102 @@
+package com.darsh.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, de-duplicated set of product ids for one term, stored compactly.
+ * <p>
+ * The bulk of the ids are delta-encoded as variable-length bytes (7 bits per byte), so dense
+ * postings take about one byte per id. New ids go into a small unsorted tail that is merged into
+ * the compressed block once it fills up, which keeps out-of-order appends cheap.
+ */
+class PostingList {
+    private static final int TAIL_CAPACITY = 128;
+
+    private byte[] block = new byte[0];
+    private int blockSize;
+    private int[] tail = new int[8];
+    private int tailSize;
+
+    synchronized void add(int productId) {
+        if (tailSize == tail.length) {
+            if (tailSize >= TAIL_CAPACITY) {
+                merge();
+            } else {
+                tail = Arrays.copyOf(tail, tail.length * 2);
+            }
+        }
+        tail[tailSize++] = productId;
+    }
+
+    /**
+     * Decoded, ascending ids.
+     */
+    synchronized int[] toArray() {
+        if (tailSize > 0) {
+            merge();
+        }
+        return decode(block, blockSize);
+    }
+
+    synchronized int compressedBytes() {
+        return block.length;
+    }
+
+    private void merge() {
+        int[] pending = Arrays.copyOf(tail, tailSize);
+        Arrays.sort(pending);
+        int[] existing = decode(block, blockSize);
+        int[] merged = new int[existing.length + pending.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < existing.length || j < pending.length) {
+            int next = j == pending.length || (i < existing.length && existing[i] <= pending[j])
+                    ? existing[i++]
+                    : pending[j++];
+            if (n == 0 || merged[n - 1] != next) {
+                merged[n++] = next;
+            }
+        }
+        block = encode(merged, n);
+        blockSize = n;
+        tailSize = 0;
+        tail = new int[8];
+    }
+
+    static byte[] encode(int[] ids, int length) {
+        byte[] out = new byte[length * 5];
+        int position = 0;
+        long previous = Integer.MIN_VALUE;
+        for (int i = 0; i < length; i++) {
+            // Deltas are taken in long space so negative ids still give non-negative gaps.
+            long delta = (long) ids[i] - previous;
+            previous = ids[i];
+            while (delta >= 0x80) {
+                out[position++] = (byte) ((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            out[position++] = (byte) delta;
+        }
+        return Arrays.copyOf(out, position);
+    }
+
+    static int[] decode(byte[] in, int length) {
+        int[] ids = new int[length];
+        int position = 0;
+        long previous = Integer.MIN_VALUE;
+        for (int i = 0; i < length; i++) {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = in[position++];
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            previous += delta;
+            ids[i] = (int) previous;
+        }
+        return ids;
+    }
+}
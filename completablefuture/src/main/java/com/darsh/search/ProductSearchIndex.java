@@ -0,0 +1,154 @@
+package com.darsh.search;
+
+import com.darsh.model.Product;
+import com.darsh.model.Review;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-process inverted index from the words of {@link Product#getName()} and {@link Review#getReview()}
+ * to product ids. Both fields can be added to at any time, but in {@code ProductService} only reviews
+ * are: its catalogue is fixed when it is built and has no way to add a product, so product names are
+ * indexed once there and the name postings never change afterwards.
+ * <p>
+ * Terms are kept sorted, so a prefix query is a range scan over the term map. A query matches products
+ * that contain every word; the last word is treated as a prefix to support search-as-you-type.
+ * Cost grows with the size of the matching postings, not with the size of the catalogue.
+ */
+public class ProductSearchIndex {
+
+    public enum Field {
+        NAME,
+        REVIEW
+    }
+
+    private final ConcurrentSkipListMap<String, PostingList> nameTerms = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, PostingList> reviewTerms = new ConcurrentSkipListMap<>();
+
+    public void addProduct(Product product) {
+        index(nameTerms, product.getName(), product.getProductId());
+    }
+
+    public void addReview(Review review) {
+        index(reviewTerms, review.getReview(), review.getProductId());
+    }
+
+    /**
+     * Ascending ids of products whose field contains all words of the query, the last one as a prefix.
+     */
+    public int[] search(String query, Field field) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return new int[0];
+        }
+        NavigableMap<String, PostingList> terms = terms(field);
+        int[] result = null;
+        for (int i = 0; i < tokens.size(); i++) {
+            int[] postings = i == tokens.size() - 1
+                    ? prefixPostings(terms, tokens.get(i))
+                    : exactPostings(terms, tokens.get(i));
+            result = result == null ? postings : intersect(result, postings);
+            if (result.length == 0) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Ascending ids of products with a word in the field starting with {@code prefix}.
+     */
+    public int[] prefixSearch(String prefix, Field field) {
+        List<String> tokens = tokenize(prefix);
+        return tokens.size() == 1 ? prefixPostings(terms(field), tokens.get(0)) : search(prefix, field);
+    }
+
+    public int termCount(Field field) {
+        return terms(field).size();
+    }
+
+    private NavigableMap<String, PostingList> terms(Field field) {
+        return field == Field.NAME ? nameTerms : reviewTerms;
+    }
+
+    private static void index(ConcurrentSkipListMap<String, PostingList> terms, String text, int productId) {
+        for (String token : tokenize(text)) {
+            terms.computeIfAbsent(token, t -> new PostingList()).add(productId);
+        }
+    }
+
+    private static int[] exactPostings(NavigableMap<String, PostingList> terms, String token) {
+        PostingList postings = terms.get(token);
+        return postings == null ? new int[0] : postings.toArray();
+    }
+
+    private static int[] prefixPostings(NavigableMap<String, PostingList> terms, String prefix) {
+        List<int[]> matches = new ArrayList<>();
+        int total = 0;
+        for (PostingList postings : terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            int[] ids = postings.toArray();
+            matches.add(ids);
+            total += ids.length;
+        }
+        if (matches.size() == 1) {
+            return matches.get(0);
+        }
+        // Concatenate, sort and de-duplicate: O(n log n) however many terms share the prefix.
+        int[] all = new int[total];
+        int position = 0;
+        for (int[] ids : matches) {
+            System.arraycopy(ids, 0, all, position, ids.length);
+            position += ids.length;
+        }
+        Arrays.sort(all);
+        int n = 0;
+        for (int i = 0; i < all.length; i++) {
+            if (n == 0 || all[n - 1] != all[i]) {
+                all[n++] = all[i];
+            }
+        }
+        return Arrays.copyOf(all, n);
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+}
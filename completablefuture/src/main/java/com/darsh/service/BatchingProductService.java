@@ -0,0 +1,76 @@
+package com.darsh.service;
+
+import com.darsh.batch.BatchLoader;
+import com.darsh.executor.AsyncExecutionStrategy;
+import com.darsh.model.Product;
+import com.darsh.model.Review;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Asynchronous front for {@link ProductService} that coalesces single-id requests arriving within
+ * a short window into one {@code getProductsByIds} / {@code getReviewsByProductIds} call.
+ */
+public class BatchingProductService implements AutoCloseable {
+    private static final Duration DEFAULT_WINDOW = Duration.ofMillis(5);
+    private static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+    private final ScheduledExecutorService scheduler;
+    private final BatchLoader<Product> productLoader;
+    private final BatchLoader<List<Review>> reviewLoader;
+
+    public BatchingProductService(ProductService productService, AsyncExecutionStrategy strategy) {
+        this(productService, strategy, DEFAULT_WINDOW, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    public BatchingProductService(ProductService productService, AsyncExecutionStrategy strategy,
+                                  Duration window, int maxBatchSize) {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-batch-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        productLoader = new BatchLoader<>(productService::getProductsByIds, window, maxBatchSize, scheduler,
+                strategy.blockingExecutor());
+        reviewLoader = new BatchLoader<>(productService::getReviewsByProductIds, window, maxBatchSize, scheduler,
+                strategy.blockingExecutor());
+    }
+
+    public CompletableFuture<Product> getProductById(int id) {
+        return productLoader.load(id);
+    }
+
+    public CompletableFuture<List<Review>> getReviewsByProductId(int productId) {
+        return reviewLoader.load(productId);
+    }
+
+    public List<CompletableFuture<Product>> getProductsByIds(int[] ids) {
+        return productLoader.loadMany(ids);
+    }
+
+    public List<CompletableFuture<List<Review>>> getReviewsByProductIds(int[] ids) {
+        return reviewLoader.loadMany(ids);
+    }
+
+    public BatchLoader<Product> productLoader() {
+        return productLoader;
+    }
+
+    public BatchLoader<List<Review>> reviewLoader() {
+        return reviewLoader;
+    }
+
+    /**
+     * Flushes both loaders' pending batches before stopping the window timer, so no caller is left waiting.
+     */
+    @Override
+    public void close() {
+        productLoader.close();
+        reviewLoader.close();
+        scheduler.shutdown();
+    }
+}
@@ -0,0 +1,66 @@
+package com.darsh.service;
+
+import com.darsh.executor.AsyncExecutionStrategy;
+import com.darsh.model.Product;
+import com.darsh.model.ProductInfo;
+import com.darsh.model.Review;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds a {@link ProductInfo} by fetching the product and its reviews in parallel on the
+ * strategy's blocking executor, so the latency is the slower of the two calls rather than their sum.
+ * <p>
+ * The product is required and the whole call fails with a {@link java.util.concurrent.TimeoutException}
+ * once the deadline passes. Reviews are optional: if they fail or miss their budget the info is
+ * returned with no reviews and {@code partial} set.
+ */
+public class ProductInfoService {
+    private static final Duration DEFAULT_DEADLINE = Duration.ofSeconds(2);
+    private static final Duration DEFAULT_REVIEW_BUDGET = Duration.ofMillis(1500);
+
+    private final ProductService productService;
+    private final AsyncExecutionStrategy strategy;
+    private final Duration deadline;
+    private final Duration reviewBudget;
+
+    public ProductInfoService(ProductService productService, AsyncExecutionStrategy strategy) {
+        this(productService, strategy, DEFAULT_DEADLINE, DEFAULT_REVIEW_BUDGET);
+    }
+
+    public ProductInfoService(ProductService productService, AsyncExecutionStrategy strategy,
+                              Duration deadline, Duration reviewBudget) {
+        if (reviewBudget.compareTo(deadline) > 0) {
+            throw new IllegalArgumentException("Review budget " + reviewBudget + " exceeds deadline " + deadline);
+        }
+        this.productService = productService;
+        this.deadline = deadline;
+        this.reviewBudget = reviewBudget;
+        this.strategy = strategy;
+    }
+
+    public CompletableFuture<ProductInfo> getProductInfo(int productId) {
+        // Both calls are started before either is awaited, so they run concurrently.
+        CompletableFuture<Product> product = CompletableFuture
+                .supplyAsync(() -> productService.getProductById(productId), strategy.blockingExecutor());
+        CompletableFuture<List<Review>> reviews = CompletableFuture
+                .supplyAsync(() -> productService.getReviewsByProductId(productId), strategy.blockingExecutor())
+                .exceptionally(ex -> null)
+                .completeOnTimeout(null, reviewBudget.toMillis(), TimeUnit.MILLISECONDS);
+
+        return product
+                .thenCombineAsync(reviews, (p, r) -> r == null
+                        ? new ProductInfo(p, List.of(), true)
+                        : new ProductInfo(p, r, false), strategy.cpuExecutor())
+                .orTimeout(deadline.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((info, ex) -> {
+                    if (ex != null) {
+                        product.cancel(false);
+                        reviews.cancel(false);
+                    }
+                });
+    }
+}
@@ -0,0 +1,122 @@
+package com.darsh.service;
+
+import com.darsh.model.Product;
+import com.darsh.model.ProductPage;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cold {@link Flow.Publisher} over the paginated catalogue. Each subscriber walks the pages
+ * independently and the next page is only fetched once the subscriber has requested more
+ * products than the current page holds. Every signal, including the error for a non-positive
+ * {@code request(n)}, comes from the single drain loop, so signals never overlap.
+ */
+class ProductPublisher implements Flow.Publisher<Product> {
+    private final ProductService productService;
+    private final int pageSize;
+    private final Executor executor;
+
+    ProductPublisher(ProductService productService, int pageSize, Executor executor) {
+        this.productService = productService;
+        this.pageSize = pageSize;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Product> subscriber) {
+        subscriber.onSubscribe(new PageSubscription(subscriber));
+    }
+
+    private final class PageSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super Product> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        // Set by request(n <= 0), signalled by the drain loop
+        private volatile Throwable error;
+
+        // Only touched by the draining thread.
+        private List<Product> page;
+        private int position;
+        private Integer cursor;
+        private boolean lastPage;
+
+        private PageSubscription(Flow.Subscriber<? super Product> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                if (error == null) {
+                    error = new IllegalArgumentException("Requested " + n + " items, must be positive");
+                }
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> {
+                    long sum = current + added;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void drain() {
+            int missed = 1;
+            try {
+                while (true) {
+                    long emitted = 0;
+                    long requested = demand.get();
+                    while (emitted < requested && !cancelled && error == null) {
+                        if (page == null || position == page.size()) {
+                            if (lastPage) {
+                                cancelled = true;
+                                subscriber.onComplete();
+                                return;
+                            }
+                            ProductPage next = productService.getProducts(cursor, pageSize);
+                            page = next.getProducts();
+                            position = 0;
+                            cursor = next.getNextCursor();
+                            lastPage = cursor == null;
+                            continue;
+                        }
+                        subscriber.onNext(page.get(position++));
+                        emitted++;
+                    }
+                    if (!cancelled && error != null) {
+                        cancelled = true;
+                        subscriber.onError(error);
+                        return;
+                    }
+                    if (!cancelled && lastPage && position == page.size()) {
+                        // Completion needs no demand, so signal it as soon as the last page is drained.
+                        cancelled = true;
+                        subscriber.onComplete();
+                        return;
+                    }
+                    if (emitted > 0) {
+                        demand.addAndGet(-emitted);
+                    }
+                    missed = wip.addAndGet(-missed);
+                    if (missed == 0) {
+                        return;
+                    }
+                }
+            } catch (RuntimeException ex) {
+                cancelled = true;
+                subscriber.onError(ex);
+            }
+        }
+    }
+}
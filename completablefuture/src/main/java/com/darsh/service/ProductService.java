@@ -1,16 +1,26 @@
 package com.darsh.service;
 
 import com.darsh.model.Product;
+import com.darsh.model.ProductPage;
 import com.darsh.model.Review;
+import com.darsh.model.ReviewStats;
+import com.darsh.search.ProductSearchIndex;
+import com.darsh.stats.ReviewStatistics;
+import com.darsh.store.ProductStore;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
 
 public class ProductService {
     private List<Product> products;
-    private List<Review> reviews;
-
+    private ProductStore store;
+    private ReviewStatistics reviewStatistics;
+    private ProductSearchIndex searchIndex;
 
     public ProductService() {
         products = Arrays.asList(
@@ -21,15 +31,47 @@ public class ProductService {
                 new Product(5, "Poco 22")
         );
 
-        reviews = Arrays.asList(
-                new Review(1, "Great product!"),
-                new Review(2, "Not bad."),
-                new Review(3, "Excellent value."),
-                new Review(1, "Could be better."),
-                new Review(2, "Worth the price."),
-                new Review(5, "Worth the price."),
-                new Review(4, "Worth the price.")
+        List<Review> reviews = Arrays.asList(
+                new Review(1, "Great product!", 5),
+                new Review(2, "Not bad.", 3),
+                new Review(3, "Excellent value.", 5),
+                new Review(1, "Could be better.", 2),
+                new Review(2, "Worth the price.", 4),
+                new Review(5, "Worth the price.", 4),
+                new Review(4, "Worth the price.", 4)
         );
+        index(reviews);
+    }
+
+    public ProductService(List<Product> products, List<Review> reviews) {
+        this.products = products;
+        index(reviews);
+    }
+
+    private void index(List<Review> reviews) {
+        store = new ProductStore(products, reviews);
+        reviewStatistics = new ReviewStatistics(10);
+        searchIndex = new ProductSearchIndex();
+        products.forEach(searchIndex::addProduct);
+        // Reviews of products missing from the catalogue are not stored, so they are not counted or indexed either
+        for (Review review : reviews) {
+            if (store.findProduct(review.getProductId()) != null) {
+                reviewStatistics.onReviewAdded(review);
+                searchIndex.addReview(review);
+            }
+        }
+    }
+
+    /**
+     * Adds a review to an existing product, updating its review list, statistics and search postings together.
+     */
+    public void addReview(Review review) {
+        // Store first: statistics and search never refer to a review that getReviewsByProductId cannot return
+        if (!store.addReview(review)) {
+            throw new IllegalArgumentException("Unknown productId " + review.getProductId());
+        }
+        reviewStatistics.onReviewAdded(review);
+        searchIndex.addReview(review);
     }
 
     public List<Product> getProducts() {
@@ -38,17 +80,107 @@ public class ProductService {
         } else return products;
     }
 
+    /**
+     * Keyset-paginated listing in ascending {@code productId} order. Pass {@code null} as the cursor
+     * for the first page and {@link ProductPage#getNextCursor()} for the following ones.
+     */
+    public ProductPage getProducts(Integer cursor, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+        List<Product> page = store.productsAfter(cursor, limit);
+        Integer nextCursor = page.size() < limit ? null : page.get(page.size() - 1).getProductId();
+        return new ProductPage(page, nextCursor);
+    }
+
+    /**
+     * Lazily walks the catalogue one page at a time, so only a single page is held in memory.
+     */
+    public Stream<Product> streamProducts(int pageSize) {
+        return Stream.iterate(getProducts(null, pageSize),
+                        page -> !page.getProducts().isEmpty(),
+                        page -> page.getNextCursor() == null
+                                ? new ProductPage(List.of(), null)
+                                : getProducts(page.getNextCursor(), pageSize))
+                .flatMap(page -> page.getProducts().stream());
+    }
+
+    /**
+     * Publishes the catalogue page by page, fetching the next page only when subscribers request more.
+     */
+    public Flow.Publisher<Product> publishProducts(int pageSize, Executor executor) {
+        return new ProductPublisher(this, pageSize, executor);
+    }
+
     public Product getProductById(int id) {
-        return products.stream()
-                .filter(product -> product.getProductId() == id)
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Exception"));
+        Product product = store.findProduct(id);
+        if (product == null) {
+            throw new RuntimeException("Exception");
+        }
+        return product;
     }
 
     public List<Review> getReviewsByProductId(int productId) {
-        return reviews.stream()
-                .filter(review -> review.getProductId() == productId)
-                .collect(Collectors.toList());
+        return store.findReviews(productId);
+    }
+
+    /**
+     * Review count and rating aggregates for a product, without loading its reviews.
+     */
+    public ReviewStats getReviewStats(int productId) {
+        return reviewStatistics.stats(productId);
+    }
+
+    /**
+     * Up to 10 product ids with the most reviews, highest first.
+     */
+    public List<Integer> getTopReviewedProductIds() {
+        return reviewStatistics.topProductsByReviewCount();
+    }
+
+    /**
+     * Products whose name contains every word of the query, the last word matched as a prefix.
+     * Names are indexed when the service is built; the catalogue is fixed, so that index never changes.
+     */
+    public List<Product> searchProductsByName(String query) {
+        return resolve(searchIndex.search(query, ProductSearchIndex.Field.NAME));
+    }
+
+    /**
+     * Products with a review containing every word of the query, the last word matched as a prefix.
+     */
+    public List<Product> searchProductsByReview(String query) {
+        return resolve(searchIndex.search(query, ProductSearchIndex.Field.REVIEW));
+    }
+
+    // The index is only written through this service, but a search result must never contain null, so drop misses
+    private List<Product> resolve(int[] ids) {
+        List<Product> matches = getProductsByIds(ids);
+        matches.removeIf(Objects::isNull);
+        return matches;
+    }
+
+    /**
+     * Looks up several products in one call. The result is aligned with {@code ids};
+     * unknown ids map to {@code null}.
+     */
+    public List<Product> getProductsByIds(int[] ids) {
+        List<Product> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            result.add(store.findProduct(id));
+        }
+        return result;
+    }
+
+    /**
+     * Looks up the reviews of several products in one call. The result is aligned with {@code ids}.
+     */
+    public List<List<Review>> getReviewsByProductIds(int[] ids) {
+        List<List<Review>> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            result.add(store.findReviews(id));
+        }
+        return result;
     }
 
 }
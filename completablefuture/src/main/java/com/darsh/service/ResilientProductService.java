@@ -0,0 +1,73 @@
+package com.darsh.service;
+
+import com.darsh.executor.AsyncExecutionStrategy;
+import com.darsh.model.Product;
+import com.darsh.model.Review;
+import com.darsh.resilience.ResilienceConfig;
+import com.darsh.resilience.ResiliencePolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Asynchronous {@link ProductService} calls guarded by a {@link ResiliencePolicy} per operation,
+ * so a slow or failing review backend cannot use up the product lookups' capacity.
+ */
+public class ResilientProductService implements AutoCloseable {
+    private final ProductService productService;
+    private final AsyncExecutionStrategy strategy;
+    private final ScheduledExecutorService scheduler;
+    private final ResiliencePolicy productPolicy;
+    private final ResiliencePolicy reviewPolicy;
+
+    public ResilientProductService(ProductService productService, AsyncExecutionStrategy strategy) {
+        this(productService, strategy, ResilienceConfig.defaults(), ResilienceConfig.defaults());
+    }
+
+    public ResilientProductService(ProductService productService, AsyncExecutionStrategy strategy,
+                                   ResilienceConfig productConfig, ResilienceConfig reviewConfig) {
+        this.productService = productService;
+        this.strategy = strategy;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-hedger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.productPolicy = ResiliencePolicy.of("products", productConfig, scheduler);
+        this.reviewPolicy = ResiliencePolicy.of("reviews", reviewConfig, scheduler);
+    }
+
+    public CompletableFuture<Product> getProductById(int id) {
+        return productPolicy.execute(() -> CompletableFuture
+                .supplyAsync(() -> productService.getProductById(id), strategy.blockingExecutor()));
+    }
+
+    public CompletableFuture<List<Review>> getReviewsByProductId(int productId) {
+        return reviewPolicy.execute(() -> CompletableFuture
+                .supplyAsync(() -> productService.getReviewsByProductId(productId), strategy.blockingExecutor()));
+    }
+
+    public ResiliencePolicy productPolicy() {
+        return productPolicy;
+    }
+
+    public ResiliencePolicy reviewPolicy() {
+        return reviewPolicy;
+    }
+
+    /**
+     * Publishes both policies' breaker, hedger, bulkhead and latency meters.
+     */
+    public void bindTo(MeterRegistry registry) {
+        productPolicy.bindTo(registry);
+        reviewPolicy.bindTo(registry);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+    }
+}
@@ -0,0 +1,140 @@
+package com.darsh.stats;
+
+import com.darsh.model.Review;
+import com.darsh.model.ReviewStats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-product review counts and rating aggregates, kept up to date as reviews are added instead of
+ * being recomputed from the review list.
+ * <p>
+ * Counters are {@link LongAdder}s, which stripe updates across cells so concurrent writers for the
+ * same product do not contend on one CAS. The top-N products by review count are kept in a min-heap
+ * of size N. Products are ranked by count, and on equal counts the lower id ranks higher, both in the
+ * order returned and in who holds the last place. Counts only grow, so a product can only enter the
+ * heap by reaching its smallest count; writers read that threshold without locking and only take the
+ * heap lock when they reach it.
+ */
+public class ReviewStatistics {
+    private static final int MAX_RATING = 5;
+
+    private final ConcurrentHashMap<Integer, Counters> counters = new ConcurrentHashMap<>();
+    private final int topN;
+
+    // Guarded by this
+    private final PriorityQueue<Ranked> heap = new PriorityQueue<>(
+            Comparator.comparingLong((Ranked ranked) -> ranked.count).thenComparingInt(ranked -> -ranked.productId));
+    private final Map<Integer, Ranked> ranked = new HashMap<>();
+    private volatile long threshold;
+
+    public ReviewStatistics(int topN) {
+        if (topN < 1) {
+            throw new IllegalArgumentException("topN must be positive: " + topN);
+        }
+        this.topN = topN;
+    }
+
+    public void onReviewAdded(Review review) {
+        Counters productCounters = counters.computeIfAbsent(review.getProductId(), id -> new Counters());
+        productCounters.reviews.increment();
+        int rating = review.getRating();
+        if (rating >= 1 && rating <= MAX_RATING) {
+            productCounters.ratings[rating - 1].increment();
+            productCounters.ratingSum.add(rating);
+        }
+        long count = productCounters.reviews.sum();
+        if (count >= threshold) {
+            updateTop(review.getProductId(), count);
+        }
+    }
+
+    public void onReviewsAdded(List<Review> reviews) {
+        reviews.forEach(this::onReviewAdded);
+    }
+
+    public long reviewCount(int productId) {
+        Counters productCounters = counters.get(productId);
+        return productCounters == null ? 0 : productCounters.reviews.sum();
+    }
+
+    public ReviewStats stats(int productId) {
+        Counters productCounters = counters.get(productId);
+        long[] ratingCounts = new long[MAX_RATING];
+        if (productCounters == null) {
+            return new ReviewStats(productId, 0, 0, 0.0, ratingCounts);
+        }
+        long rated = 0;
+        for (int i = 0; i < MAX_RATING; i++) {
+            ratingCounts[i] = productCounters.ratings[i].sum();
+            rated += ratingCounts[i];
+        }
+        double average = rated == 0 ? 0.0 : (double) productCounters.ratingSum.sum() / rated;
+        return new ReviewStats(productId, productCounters.reviews.sum(), rated, average, ratingCounts);
+    }
+
+    /**
+     * Product ids with the most reviews, highest first, at most {@code topN} of them.
+     */
+    public synchronized List<Integer> topProductsByReviewCount() {
+        List<Ranked> snapshot = new ArrayList<>(heap);
+        snapshot.sort(heap.comparator().reversed());
+        List<Integer> productIds = new ArrayList<>(snapshot.size());
+        for (Ranked entry : snapshot) {
+            productIds.add(entry.productId);
+        }
+        return productIds;
+    }
+
+    private synchronized void updateTop(int productId, long count) {
+        Ranked entry = ranked.get(productId);
+        if (entry != null) {
+            if (count > entry.count) {
+                heap.remove(entry);
+                entry.count = count;
+                heap.add(entry);
+            }
+        } else if (heap.size() < topN) {
+            entry = new Ranked(productId, count);
+            ranked.put(productId, entry);
+            heap.add(entry);
+        } else {
+            Ranked candidate = new Ranked(productId, count);
+            if (heap.comparator().compare(candidate, heap.peek()) > 0) {
+                ranked.remove(heap.poll().productId);
+                ranked.put(productId, candidate);
+                heap.add(candidate);
+            }
+        }
+        threshold = heap.size() < topN ? 0 : heap.peek().count;
+    }
+
+    private static final class Counters {
+        private final LongAdder reviews = new LongAdder();
+        private final LongAdder ratingSum = new LongAdder();
+        private final LongAdder[] ratings = new LongAdder[MAX_RATING];
+
+        private Counters() {
+            for (int i = 0; i < MAX_RATING; i++) {
+                ratings[i] = new LongAdder();
+            }
+        }
+    }
+
+    private static final class Ranked {
+        private final int productId;
+        private long count;
+
+        private Ranked(int productId, long count) {
+            this.productId = productId;
+            this.count = count;
+        }
+    }
+}
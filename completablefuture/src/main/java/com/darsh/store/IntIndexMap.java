@@ -0,0 +1,97 @@
+package com.darsh.store;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from an {@code int} key to a non-negative {@code int} slot,
+ * backed by two parallel primitive arrays so lookups never box or allocate.
+ * Past 3/4 full the arrays double and every key is re-inserted, so {@code expectedSize}
+ * only avoids resizing; it is not a limit. Not safe for writes concurrent with reads.
+ */
+public class IntIndexMap {
+    private static final int EMPTY = -1;
+
+    private int[] keys;
+    private int[] slots;
+    private int mask;
+    private int size;
+
+    public IntIndexMap(int expectedSize) {
+        allocate(Integer.highestOneBit(Math.max(2, expectedSize * 2 - 1)) << 1);
+    }
+
+    /**
+     * Maps {@code key} to {@code slot}, returning the previous slot or -1 if the key was absent.
+     */
+    public int put(int key, int slot) {
+        if (slot < 0) {
+            throw new IllegalArgumentException("Slot must be non-negative: " + slot);
+        }
+        int i = indexOf(key);
+        int previous = slots[i];
+        if (previous == EMPTY) {
+            if (size + 1 > (mask + 1) * 3 / 4) {
+                grow();
+                i = indexOf(key);
+            }
+            keys[i] = key;
+            size++;
+        }
+        slots[i] = slot;
+        return previous;
+    }
+
+    /**
+     * Returns the slot mapped to {@code key}, or -1 if the key is absent.
+     */
+    public int get(int key) {
+        return slots[indexOf(key)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Length of the backing arrays, always a power of two.
+     */
+    int capacity() {
+        return mask + 1;
+    }
+
+    private void allocate(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalStateException("IntIndexMap cannot grow past " + (mask + 1) + " entries");
+        }
+        keys = new int[capacity];
+        slots = new int[capacity];
+        Arrays.fill(slots, EMPTY);
+        mask = capacity - 1;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldSlots = slots;
+        allocate((mask + 1) << 1);
+        for (int i = 0; i < oldSlots.length; i++) {
+            if (oldSlots[i] != EMPTY) {
+                int j = indexOf(oldKeys[i]);
+                keys[j] = oldKeys[i];
+                slots[j] = oldSlots[i];
+            }
+        }
+    }
+
+    private int indexOf(int key) {
+        int i = mix(key) & mask;
+        while (slots[i] != EMPTY && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,200 @@
+package com.darsh.store;
+
+import com.darsh.model.Product;
+import com.darsh.model.Review;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Product catalogue indexed by {@code productId}, with reviews that can be added later.
+ * <p>
+ * Products live in a dense array addressed through an {@link IntIndexMap}. Initial reviews are
+ * laid out contiguously per product (sorted by product slot) with an offsets array, so each
+ * product's reviews are a range of one shared array. Per-product list views over that range
+ * are built once up front, which makes both lookups O(1) and allocation-free.
+ * <p>
+ * Reviews added later go to a per-product append-only log. The first added review copies the
+ * product's range into an array of its own with spare room, and each later one is written into
+ * that room, or into a copy of double the size once it is full, so an add is amortised O(1).
+ * After each add the log publishes a new view fixed at the new length. Published elements are
+ * never written again, so readers never lock and always see a complete list in insertion order.
+ */
+public class ProductStore {
+    private final IntIndexMap index;
+    private final Product[] products;
+    private final int[] sortedIds;
+    private final int[] sortedSlots;
+    private final Review[] reviews;
+    private final ReviewLog[] reviewLogs;
+
+    public ProductStore(List<Product> productList, List<Review> reviewList) {
+        int productCount = productList.size();
+        index = new IntIndexMap(productCount);
+        products = new Product[productCount];
+        for (int slot = 0; slot < productCount; slot++) {
+            Product product = productList.get(slot);
+            if (index.put(product.getProductId(), slot) >= 0) {
+                throw new IllegalArgumentException("Duplicate productId " + product.getProductId());
+            }
+            products[slot] = product;
+        }
+
+        // Product ids in ascending order with their slots, for keyset pagination.
+        long[] idSlots = new long[productCount];
+        for (int slot = 0; slot < productCount; slot++) {
+            idSlots[slot] = ((long) products[slot].getProductId() << 32) | slot;
+        }
+        Arrays.sort(idSlots);
+        sortedIds = new int[productCount];
+        sortedSlots = new int[productCount];
+        for (int i = 0; i < productCount; i++) {
+            sortedIds[i] = (int) (idSlots[i] >> 32);
+            sortedSlots[i] = (int) idSlots[i];
+        }
+
+        // Counting sort of reviews by product slot: count, prefix-sum, then scatter.
+        int[] counts = new int[productCount + 1];
+        int[] reviewSlots = new int[reviewList.size()];
+        int indexed = 0;
+        for (int i = 0; i < reviewSlots.length; i++) {
+            int slot = index.get(reviewList.get(i).getProductId());
+            reviewSlots[i] = slot;
+            if (slot >= 0) {
+                counts[slot + 1]++;
+                indexed++;
+            }
+        }
+        for (int slot = 0; slot < productCount; slot++) {
+            counts[slot + 1] += counts[slot];
+        }
+        int[] reviewOffsets = counts.clone();
+        reviews = new Review[indexed];
+        for (int i = 0; i < reviewSlots.length; i++) {
+            int slot = reviewSlots[i];
+            if (slot >= 0) {
+                reviews[counts[slot]++] = reviewList.get(i);
+            }
+        }
+
+        reviewLogs = new ReviewLog[productCount];
+        for (int slot = 0; slot < productCount; slot++) {
+            reviewLogs[slot] = new ReviewLog(reviews, reviewOffsets[slot], reviewOffsets[slot + 1]);
+        }
+    }
+
+    /**
+     * Returns the product with the given id, or {@code null} if there is none.
+     */
+    public Product findProduct(int productId) {
+        int slot = index.get(productId);
+        return slot < 0 ? null : products[slot];
+    }
+
+    /**
+     * Returns an unmodifiable view of the reviews for the given product, empty if there are none.
+     */
+    public List<Review> findReviews(int productId) {
+        int slot = index.get(productId);
+        return slot < 0 ? List.of() : reviewLogs[slot].view;
+    }
+
+    /**
+     * Adds a review to its product. Returns {@code false}, and stores nothing, if the product is unknown.
+     * Safe to call from several threads; writers to the same product take turns, readers never wait.
+     */
+    public boolean addReview(Review review) {
+        int slot = index.get(review.getProductId());
+        if (slot < 0) {
+            return false;
+        }
+        reviewLogs[slot].append(review);
+        return true;
+    }
+
+    /**
+     * Returns up to {@code limit} products in ascending id order, starting after {@code afterProductId}
+     * (or from the first product when it is {@code null}).
+     */
+    public List<Product> productsAfter(Integer afterProductId, int limit) {
+        int from = 0;
+        if (afterProductId != null) {
+            int i = Arrays.binarySearch(sortedIds, afterProductId);
+            from = i >= 0 ? i + 1 : -i - 1;
+        }
+        int to = (int) Math.min(sortedIds.length, (long) from + limit);
+        List<Product> page = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            page.add(products[sortedSlots[i]]);
+        }
+        return page;
+    }
+
+    public int reviewCount(int productId) {
+        return findReviews(productId).size();
+    }
+
+    public int productCount() {
+        return products.length;
+    }
+
+    private static final class ReviewLog {
+        private static final int MIN_CAPACITY = 4;
+
+        // Guarded by this; elements below the published view's end are never written again
+        private Review[] reviews;
+        private int from;
+        private int size;
+        private boolean owned;
+        private volatile List<Review> view;
+
+        private ReviewLog(Review[] shared, int from, int to) {
+            this.reviews = shared;
+            this.from = from;
+            this.size = to - from;
+            this.view = size == 0 ? List.of() : new ReviewRange(shared, from, to);
+        }
+
+        private synchronized void append(Review review) {
+            // The initial range borders the next product's reviews, so the first add moves it out
+            if (!owned || from + size == reviews.length) {
+                Review[] grown = new Review[Math.max(MIN_CAPACITY, size * 2)];
+                System.arraycopy(reviews, from, grown, 0, size);
+                reviews = grown;
+                from = 0;
+                owned = true;
+            }
+            reviews[from + size] = review;
+            size++;
+            view = new ReviewRange(reviews, from, from + size);
+        }
+    }
+
+    private static final class ReviewRange extends AbstractList<Review> implements RandomAccess {
+        private final Review[] reviews;
+        private final int from;
+        private final int size;
+
+        private ReviewRange(Review[] reviews, int from, int to) {
+            this.reviews = reviews;
+            this.from = from;
+            this.size = to - from;
+        }
+
+        @Override
+        public Review get(int i) {
+            if (i < 0 || i >= size) {
+                throw new IndexOutOfBoundsException("Index " + i + " out of bounds for length " + size);
+            }
+            return reviews[from + i];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
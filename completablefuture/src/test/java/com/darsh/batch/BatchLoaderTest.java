@@ -0,0 +1,146 @@
+package com.darsh.batch;
+
+import com.darsh.executor.BoundedExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchLoaderTest {
+
+    private static final Duration LONG_WINDOW = Duration.ofHours(1);
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final BoundedExecutor executor = new BoundedExecutor("batch-test", 2, 100);
+    private final List<int[]> calls = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void loadsWithinTheWindowShareOneBatchCall() throws Exception {
+        BatchLoader<String> loader = loader(Duration.ofMillis(50), 100, this::names);
+        CompletableFuture<String> first = loader.load(1);
+        CompletableFuture<String> second = loader.load(2);
+        CompletableFuture<String> duplicate = loader.load(1);
+
+        assertSame(first, duplicate);
+        assertEquals("p1", first.get(5, TimeUnit.SECONDS));
+        assertEquals("p2", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.size());
+        assertEquals("[1, 2]", Arrays.toString(calls.get(0)));
+        assertEquals(3, loader.requestCount());
+        assertEquals(1, loader.batchCount());
+    }
+
+    @Test
+    void fullBatchIsDispatchedWithoutWaitingForTheWindow() throws Exception {
+        BatchLoader<String> loader = loader(LONG_WINDOW, 3, this::names);
+        List<CompletableFuture<String>> full = loader.loadMany(new int[]{1, 2, 3});
+        CompletableFuture<String> next = loader.load(4);
+
+        CompletableFuture.allOf(full.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        assertEquals("[1, 2, 3]", Arrays.toString(calls.get(0)));
+        assertFalse(next.isDone());
+        assertEquals(1, loader.batchCount());
+    }
+
+    @Test
+    void partialBatchIsDispatchedWhenTheWindowElapses() throws Exception {
+        Duration window = Duration.ofMillis(100);
+        BatchLoader<String> loader = loader(window, 100, this::names);
+        long start = System.nanoTime();
+        CompletableFuture<String> future = loader.load(7);
+
+        assertEquals("p7", future.get(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= window.toNanos());
+        assertEquals(1, calls.size());
+    }
+
+    @Test
+    void missingValuesFailOnlyTheirOwnIds() throws Exception {
+        BatchLoader<String> loader = loader(LONG_WINDOW, 3, ids -> Arrays.asList("p" + ids[0], null));
+        List<CompletableFuture<String>> futures = loader.loadMany(new int[]{1, 2, 3});
+
+        assertEquals("p1", futures.get(0).get(5, TimeUnit.SECONDS));
+        assertThrows(ExecutionException.class, () -> futures.get(1).get(5, TimeUnit.SECONDS));
+        assertThrows(ExecutionException.class, () -> futures.get(2).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void exceptionFromTheBatchFunctionFailsTheWholeBatch() {
+        IllegalStateException failure = new IllegalStateException("backend down");
+        BatchLoader<String> loader = loader(LONG_WINDOW, 2, ids -> {
+            throw failure;
+        });
+        for (CompletableFuture<String> future : loader.loadMany(new int[]{1, 2})) {
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertSame(failure, ex.getCause());
+        }
+    }
+
+    @Test
+    void errorFromTheBatchFunctionStillCompletesEveryFuture() {
+        BatchLoader<String> loader = loader(LONG_WINDOW, 2, ids -> {
+            throw new StackOverflowError();
+        });
+        for (CompletableFuture<String> future : loader.loadMany(new int[]{1, 2})) {
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(StackOverflowError.class, ex.getCause());
+        }
+    }
+
+    @Test
+    void rejectedBatchFailsItsFutures() {
+        executor.shutdown();
+        BatchLoader<String> loader = loader(LONG_WINDOW, 1, this::names);
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> loader.load(1).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, ex.getCause());
+    }
+
+    @Test
+    void closeFlushesThePendingBatchAndFailsLaterLoads() throws Exception {
+        BatchLoader<String> loader = loader(LONG_WINDOW, 100, this::names);
+        CompletableFuture<String> pending = loader.load(5);
+        loader.close();
+
+        assertEquals("p5", pending.get(5, TimeUnit.SECONDS));
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> loader.load(6).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+        assertEquals(1, calls.size());
+    }
+
+    private BatchLoader<String> loader(Duration window, int maxBatchSize, Function<int[], List<String>> function) {
+        return new BatchLoader<>(function, window, maxBatchSize, scheduler, executor);
+    }
+
+    private List<String> names(int[] ids) {
+        calls.add(ids);
+        List<String> names = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            names.add("p" + id);
+        }
+        return names;
+    }
+}
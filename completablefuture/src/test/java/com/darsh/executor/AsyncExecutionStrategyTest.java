@@ -0,0 +1,63 @@
+package com.darsh.executor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class AsyncExecutionStrategyTest {
+
+    @Test
+    void platformBlockingPoolRejectsOnceWorkersAndQueueAreFull() throws Exception {
+        try (AsyncExecutionStrategy strategy = AsyncExecutionStrategy.platform(2, 3)) {
+            assertBounded(strategy, 2, 3);
+        }
+    }
+
+    @Test
+    void virtualBlockingPoolIsBoundedLikeThePlatformOne() throws Exception {
+        assumeTrue(AsyncExecutionStrategy.virtualThreadsSupported(), "needs JDK 21+");
+        try (AsyncExecutionStrategy strategy = AsyncExecutionStrategy.virtual(2, 3)) {
+            boolean[] virtual = new boolean[1];
+            strategy.blockingExecutor().submit(() -> {
+                virtual[0] = (boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread());
+                return null;
+            }).get(5, TimeUnit.SECONDS);
+            assertTrue(virtual[0]);
+            assertBounded(strategy, 2, 3);
+        }
+    }
+
+    private static void assertBounded(AsyncExecutionStrategy strategy, int threads, int queueCapacity)
+            throws InterruptedException {
+        BoundedExecutor blocking = strategy.blockingExecutor();
+        CountDownLatch running = new CountDownLatch(threads);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable task = () -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        // Occupy every worker first so the rest of the tasks can only queue
+        for (int i = 0; i < threads; i++) {
+            blocking.execute(task);
+        }
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < queueCapacity; i++) {
+            blocking.execute(task);
+        }
+        assertEquals(queueCapacity, blocking.queueSize());
+        assertThrows(RejectedExecutionException.class, () -> blocking.execute(() -> { }));
+        assertEquals(1, strategy.rejectedCount());
+        release.countDown();
+    }
+}
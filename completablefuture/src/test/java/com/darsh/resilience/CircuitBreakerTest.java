@@ -0,0 +1,102 @@
+package com.darsh.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CircuitBreakerTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofMillis(50);
+
+    private final CircuitBreaker breaker = new CircuitBreaker("test",
+            new CircuitBreaker.Config(4, 4, 0.5, OPEN_DURATION, 2));
+
+    @Test
+    void opensOnFailureRateThenClosesAfterSuccessfulTrials() throws Exception {
+        succeed();
+        succeed();
+        fail();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        fail();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(1, breaker.openedCount());
+
+        ExecutionException rejected = assertThrows(ExecutionException.class,
+                () -> call(CompletableFuture.completedFuture("x")).get());
+        assertInstanceOf(CallNotPermittedException.class, rejected.getCause());
+        assertEquals(1, breaker.notPermittedCount());
+
+        Thread.sleep(OPEN_DURATION.toMillis() + 10);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        succeed();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        succeed();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(0.0, breaker.failureRate());
+    }
+
+    @Test
+    void failedTrialOpensAgain() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            fail();
+        }
+        Thread.sleep(OPEN_DURATION.toMillis() + 10);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        fail();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(2, breaker.openedCount());
+    }
+
+    @Test
+    void halfOpenAdmitsOnlyTheTrialCalls() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            fail();
+        }
+        Thread.sleep(OPEN_DURATION.toMillis() + 10);
+        call(new CompletableFuture<>());
+        call(new CompletableFuture<>());
+        assertThrows(ExecutionException.class, () -> call(CompletableFuture.completedFuture("x")).get());
+    }
+
+    @Test
+    void bulkheadRejectionsDoNotCountAsFailures() {
+        for (int i = 0; i < 10; i++) {
+            call(CompletableFuture.failedFuture(new BulkheadFullException("full")));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(0.0, breaker.failureRate());
+        assertEquals(10, breaker.ignoredCount());
+        assertEquals(0, breaker.failureCount());
+    }
+
+    @Test
+    void bulkheadRejectionHandsTheTrialPermitBack() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            fail();
+        }
+        Thread.sleep(OPEN_DURATION.toMillis() + 10);
+        call(CompletableFuture.failedFuture(new BulkheadFullException("full")));
+        call(CompletableFuture.failedFuture(new BulkheadFullException("full")));
+        succeed();
+        succeed();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    private void succeed() {
+        call(CompletableFuture.completedFuture("ok"));
+    }
+
+    private void fail() {
+        call(CompletableFuture.failedFuture(new IllegalStateException("backend down")));
+    }
+
+    private CompletableFuture<String> call(CompletableFuture<String> outcome) {
+        return breaker.execute(() -> outcome);
+    }
+}
@@ -0,0 +1,118 @@
+package com.darsh.resilience;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HedgerTest {
+
+    private static final Duration DELAY = Duration.ofMillis(100);
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final Hedger hedger = new Hedger("test", scheduler, DELAY);
+    private final List<CompletableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+    private final List<Long> startedAt = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void hedgeFiresAfterTheDelayAndTheSlowAttemptIsCancelled() throws Exception {
+        long start = System.nanoTime();
+        CompletableFuture<String> result = hedger.execute(() -> {
+            startedAt.add(System.nanoTime());
+            CompletableFuture<String> attempt = attempts.isEmpty()
+                    ? new CompletableFuture<>()
+                    : CompletableFuture.completedFuture("hedge");
+            attempts.add(attempt);
+            return attempt;
+        });
+
+        assertEquals("hedge", result.get(5, TimeUnit.SECONDS));
+        assertEquals(2, attempts.size());
+        assertTrue(startedAt.get(1) - start >= DELAY.toNanos());
+        assertTrue(attempts.get(0).isCancelled());
+        assertEquals(1, hedger.hedgeCount());
+        awaitCount(1, hedger::hedgesWonCount);
+        awaitCount(1, hedger::cancelledCount);
+    }
+
+    @Test
+    void fastAttemptSendsNoHedge() throws Exception {
+        CompletableFuture<String> result = hedger.execute(() -> {
+            CompletableFuture<String> attempt = CompletableFuture.completedFuture("first");
+            attempts.add(attempt);
+            return attempt;
+        });
+
+        assertEquals("first", result.get(5, TimeUnit.SECONDS));
+        Thread.sleep(DELAY.toMillis() * 2);
+        assertEquals(1, attempts.size());
+        assertEquals(0, hedger.hedgeCount());
+        assertEquals(0, hedger.cancelledCount());
+    }
+
+    @Test
+    void firstAttemptWinningCancelsTheHedge() throws Exception {
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> result = hedger.execute(() -> {
+            CompletableFuture<String> attempt = attempts.isEmpty() ? first : new CompletableFuture<>();
+            attempts.add(attempt);
+            return attempt;
+        });
+        while (attempts.size() < 2) {
+            Thread.sleep(5);
+        }
+
+        first.complete("first");
+        assertEquals("first", result.get(5, TimeUnit.SECONDS));
+        awaitCount(1, hedger::cancelledCount);
+        assertTrue(attempts.get(1).isCancelled());
+        assertEquals(0, hedger.hedgesWonCount());
+    }
+
+    @Test
+    void failsOnlyOnceEveryAttemptHasFailed() throws Exception {
+        IllegalStateException failure = new IllegalStateException("second failure");
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> result = hedger.execute(() -> {
+            CompletableFuture<String> attempt = attempts.isEmpty() ? first : CompletableFuture.failedFuture(failure);
+            attempts.add(attempt);
+            return attempt;
+        });
+        while (attempts.size() < 2) {
+            Thread.sleep(5);
+        }
+
+        assertFalse(result.isDone());
+        first.completeExceptionally(new IllegalStateException("first failure"));
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertEquals("first failure", ex.getCause().getMessage());
+        assertTrue(attempts.get(1).isCompletedExceptionally());
+    }
+
+    // The counters are bumped on the completing thread right after the result is, so get() can return first
+    private static void awaitCount(long expected, LongSupplier count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count.getAsLong() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(expected, count.getAsLong());
+    }
+}
@@ -0,0 +1,70 @@
+package com.darsh.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResiliencePolicyTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void burstOverTheBulkheadDoesNotOpenTheBreaker() {
+        ResilienceConfig config = ResilienceConfig.defaults()
+                .withMaxConcurrentCalls(2)
+                .withMinimumHedgeDelay(Duration.ofHours(1))
+                .withCircuitBreaker(new CircuitBreaker.Config(10, 5, 0.5, Duration.ofSeconds(30), 1));
+        ResiliencePolicy policy = ResiliencePolicy.of("test", config, scheduler);
+
+        List<CompletableFuture<String>> slow = new ArrayList<>();
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            results.add(policy.execute(() -> {
+                CompletableFuture<String> call = new CompletableFuture<>();
+                slow.add(call);
+                return call;
+            }));
+        }
+
+        assertEquals(2, slow.size());
+        assertEquals(18, policy.bulkhead().rejectedCount());
+        assertEquals(18, policy.circuitBreaker().ignoredCount());
+        assertEquals(CircuitBreaker.State.CLOSED, policy.circuitBreaker().state());
+        slow.forEach(call -> call.complete("ok"));
+        assertTrue(results.get(0).isDone());
+        assertEquals(2, policy.circuitBreaker().successCount());
+    }
+
+    @Test
+    void bindsMetersTaggedWithThePolicyName() {
+        ResiliencePolicy policy = ResiliencePolicy.of("products", ResilienceConfig.defaults(), scheduler);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        policy.bindTo(registry);
+        policy.execute(() -> CompletableFuture.failedFuture(new IllegalStateException("down")));
+        policy.execute(() -> CompletableFuture.completedFuture("ok"));
+
+        assertEquals(1.0, registry.get("resilience.breaker.calls").tags("policy", "products", "outcome", "failure")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("resilience.breaker.calls").tags("policy", "products", "outcome", "success")
+                .functionCounter().count());
+        assertEquals(0.5, registry.get("resilience.breaker.failure.rate").tag("policy", "products").gauge().value());
+        assertEquals(0.0, registry.get("resilience.breaker.state").tag("policy", "products").gauge().value());
+        assertEquals(2.0, registry.get("resilience.calls").tag("policy", "products").functionCounter().count());
+        assertEquals(0.0, registry.get("resilience.bulkhead.in.flight").tag("policy", "products").gauge().value());
+    }
+}
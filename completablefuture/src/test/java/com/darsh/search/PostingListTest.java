@@ -0,0 +1,77 @@
+package com.darsh.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostingListTest {
+
+    @Test
+    void gapsAtTheVarintBoundariesRoundTrip() {
+        // Gaps of 127, 128, 16383 and 16384 sit on the one/two/three-byte boundaries
+        int[] ids = {0, 127, 255, 16638, 33022};
+        byte[] encoded = PostingList.encode(ids, ids.length);
+
+        assertArrayEquals(ids, PostingList.decode(encoded, ids.length));
+        // The first id is a gap of 2^31 from Integer.MIN_VALUE: 5 bytes, then 1 + 2 + 2 + 3
+        assertEquals(5 + 1 + 2 + 2 + 3, encoded.length);
+    }
+
+    @Test
+    void singleByteGapsTakeOneByteEach() {
+        int[] ids = new int[1_000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = Integer.MIN_VALUE + 1 + i;
+        }
+        byte[] encoded = PostingList.encode(ids, ids.length);
+
+        assertEquals(ids.length, encoded.length);
+        assertArrayEquals(ids, PostingList.decode(encoded, ids.length));
+    }
+
+    @Test
+    void extremeIdsRoundTrip() {
+        int[] ids = {Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE};
+        assertArrayEquals(ids, PostingList.decode(PostingList.encode(ids, ids.length), ids.length));
+        assertArrayEquals(new int[0], PostingList.decode(PostingList.encode(new int[0], 0), 0));
+    }
+
+    @Test
+    void duplicateIdsAreStoredOnce() {
+        PostingList postings = new PostingList();
+        for (int id : new int[]{5, 3, 5, 9, 3, 3, 128, 5}) {
+            postings.add(id);
+        }
+        assertArrayEquals(new int[]{3, 5, 9, 128}, postings.toArray());
+
+        // Duplicates of ids already merged into the compressed block are dropped too
+        postings.add(9);
+        postings.add(1);
+        assertArrayEquals(new int[]{1, 3, 5, 9, 128}, postings.toArray());
+    }
+
+    @Test
+    void outOfOrderAddsPastTheTailCapacityStaySortedAndCompact() {
+        Random random = new Random(42);
+        PostingList postings = new PostingList();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 5_000; i++) {
+            int id = random.nextInt(20_000);
+            postings.add(id);
+            expected.add(id);
+        }
+
+        int[] ids = postings.toArray();
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), ids);
+        assertEquals(Arrays.stream(ids).distinct().count(), ids.length);
+        // About one byte per id for gaps under 128
+        assertEquals(PostingList.encode(ids, ids.length).length, postings.compressedBytes());
+        assertTrue(postings.compressedBytes() < ids.length * 2);
+    }
+}
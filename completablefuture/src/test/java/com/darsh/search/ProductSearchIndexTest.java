@@ -0,0 +1,37 @@
+package com.darsh.search;
+
+import com.darsh.model.Product;
+import com.darsh.model.Review;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class ProductSearchIndexTest {
+
+    @Test
+    void everyWordMustMatchAndTheLastIsAPrefix() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.addProduct(new Product(1, "S22 Ultra"));
+        index.addProduct(new Product(2, "Samsung Galaxy S22"));
+        index.addProduct(new Product(3, "Ultra Watch"));
+
+        assertArrayEquals(new int[]{1}, index.search("s22 ul", ProductSearchIndex.Field.NAME));
+        assertArrayEquals(new int[]{1, 2}, index.search("S22", ProductSearchIndex.Field.NAME));
+        assertArrayEquals(new int[]{1, 2}, index.prefixSearch("s", ProductSearchIndex.Field.NAME));
+        assertArrayEquals(new int[]{1, 3}, index.prefixSearch("ULT", ProductSearchIndex.Field.NAME));
+        assertArrayEquals(new int[0], index.search("galaxy ultra", ProductSearchIndex.Field.NAME));
+        assertArrayEquals(new int[0], index.search("  ", ProductSearchIndex.Field.NAME));
+    }
+
+    @Test
+    void reviewsAreSearchableAsSoonAsTheyAreAdded() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.addReview(new Review(4, "Worth the price.", 4));
+        assertArrayEquals(new int[]{4}, index.search("worth", ProductSearchIndex.Field.REVIEW));
+
+        index.addReview(new Review(2, "Worth it", 5));
+        index.addReview(new Review(4, "worth every penny", 5));
+        assertArrayEquals(new int[]{2, 4}, index.search("worth", ProductSearchIndex.Field.REVIEW));
+        assertArrayEquals(new int[0], index.search("worth", ProductSearchIndex.Field.NAME));
+    }
+}
@@ -0,0 +1,152 @@
+package com.darsh.service;
+
+import com.darsh.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductPublisherTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void deliversEveryProductAcrossPagesThenCompletes() throws InterruptedException {
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        new ProductPublisher(catalogue(10), 3, executor).subscribe(subscriber);
+        subscriber.subscription.request(4);
+        subscriber.subscription.request(100);
+
+        assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+        assertEquals(10, subscriber.products.size());
+        assertEquals(List.of("onComplete"), subscriber.terminals);
+    }
+
+    @Test
+    void emitsNoMoreThanRequested() throws InterruptedException {
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        new ProductPublisher(catalogue(10), 3, executor).subscribe(subscriber);
+        subscriber.subscription.request(5);
+
+        Thread.sleep(100);
+        assertEquals(5, subscriber.products.size());
+        assertTrue(subscriber.terminals.isEmpty());
+    }
+
+    // Reactive Streams rules 1.3 and 3.9: request(0) during a drain signals onError, serially with onNext
+    @Test
+    void requestZeroWhileDrainingSignalsErrorFromTheDrainLoop() throws InterruptedException {
+        RecordingSubscriber subscriber = new RecordingSubscriber(20);
+        new ProductPublisher(catalogue(1_000), 10, executor).subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertTrue(subscriber.draining.await(5, TimeUnit.SECONDS));
+        subscriber.subscription.request(0);
+
+        assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertFalse(subscriber.overlapped.get(), "signals overlapped");
+        assertEquals(List.of("onError"), subscriber.terminals);
+        assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+        assertTrue(subscriber.products.size() < 1_000);
+        assertEquals(subscriber.productsAtTermination, subscriber.products.size());
+    }
+
+    private static ProductService catalogue(int size) {
+        List<Product> products = new ArrayList<>(size);
+        for (int id = 1; id <= size; id++) {
+            products.add(new Product(id, "Product " + id));
+        }
+        return new ProductService(products, List.of());
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<Product> {
+        private final long onNextMillis;
+        private final List<Product> products = new CopyOnWriteArrayList<>();
+        private final List<String> terminals = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean inSignal = new AtomicBoolean();
+        private final AtomicBoolean overlapped = new AtomicBoolean();
+        private final CountDownLatch draining = new CountDownLatch(1);
+        private final CountDownLatch terminated = new CountDownLatch(1);
+        private volatile Flow.Subscription subscription;
+        private volatile Throwable error;
+        private volatile int productsAtTermination;
+
+        private RecordingSubscriber(long onNextMillis) {
+            this.onNextMillis = onNextMillis;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Product product) {
+            enter();
+            products.add(product);
+            draining.countDown();
+            if (onNextMillis > 0) {
+                // Keeps this signal open long enough for a concurrent request(0) to land inside it
+                sleep(onNextMillis);
+            }
+            exit();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            enter();
+            error = throwable;
+            terminate("onError");
+        }
+
+        @Override
+        public void onComplete() {
+            enter();
+            terminate("onComplete");
+        }
+
+        private void terminate(String signal) {
+            terminals.add(signal);
+            productsAtTermination = products.size();
+            exit();
+            terminated.countDown();
+        }
+
+        private void enter() {
+            if (!inSignal.compareAndSet(false, true)) {
+                overlapped.set(true);
+            }
+        }
+
+        private void exit() {
+            inSignal.set(false);
+        }
+
+        private static void sleep(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
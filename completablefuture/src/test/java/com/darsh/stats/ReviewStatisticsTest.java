@@ -0,0 +1,120 @@
+package com.darsh.stats;
+
+import com.darsh.model.Review;
+import com.darsh.model.ReviewStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReviewStatisticsTest {
+
+    @Test
+    void tiesRankTheLowerIdFirst() {
+        ReviewStatistics statistics = new ReviewStatistics(10);
+        add(statistics, 7, 2);
+        add(statistics, 3, 2);
+        add(statistics, 5, 4);
+        add(statistics, 1, 2);
+
+        assertEquals(List.of(5, 1, 3, 7), statistics.topProductsByReviewCount());
+    }
+
+    @Test
+    void tieAtTheLastPlaceGoesToTheLowerIdWhateverTheArrivalOrder() {
+        ReviewStatistics statistics = new ReviewStatistics(2);
+        add(statistics, 9, 3);
+        add(statistics, 8, 2);
+        add(statistics, 4, 2);
+        assertEquals(List.of(9, 4), statistics.topProductsByReviewCount());
+
+        // A higher id reaching the same count does not displace it
+        add(statistics, 6, 2);
+        assertEquals(List.of(9, 4), statistics.topProductsByReviewCount());
+        add(statistics, 6, 1);
+        assertEquals(List.of(6, 9), statistics.topProductsByReviewCount());
+    }
+
+    @Test
+    void topNLargerThanTheProductCountReturnsEveryProduct() {
+        ReviewStatistics statistics = new ReviewStatistics(50);
+        add(statistics, 2, 1);
+        add(statistics, 1, 3);
+        add(statistics, 3, 2);
+
+        assertEquals(List.of(1, 3, 2), statistics.topProductsByReviewCount());
+        assertEquals(List.of(), new ReviewStatistics(5).topProductsByReviewCount());
+    }
+
+    @Test
+    void statsCountRatingsAndSkipOutOfRangeOnes() {
+        ReviewStatistics statistics = new ReviewStatistics(3);
+        statistics.onReviewsAdded(List.of(new Review(1, "a", 5), new Review(1, "b", 4), new Review(1, "c", 0),
+                new Review(1, "d", 4), new Review(1, "e", 6)));
+
+        ReviewStats stats = statistics.stats(1);
+        assertEquals(5, stats.getReviewCount());
+        assertEquals(3, stats.getRatedCount());
+        assertEquals(13.0 / 3, stats.getAverageRating(), 1e-9);
+        assertArrayEquals(new long[]{0, 0, 0, 2, 1}, stats.getRatingCounts());
+        assertEquals(0, statistics.stats(2).getReviewCount());
+        assertEquals(0.0, statistics.stats(2).getAverageRating());
+        assertThrows(IllegalArgumentException.class, () -> new ReviewStatistics(0));
+    }
+
+    @Test
+    void concurrentIncrementsMatchTheFinalCounts() throws InterruptedException {
+        int products = 40;
+        int topN = 5;
+        ReviewStatistics statistics = new ReviewStatistics(topN);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                // Product p gets p reviews from each thread, interleaved across products
+                for (int round = 1; round <= products; round++) {
+                    for (int productId = round; productId <= products; productId++) {
+                        statistics.onReviewAdded(new Review(productId, "t" + offset, 1 + (productId + round) % 5));
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int productId = 1; productId <= products; productId++) {
+            assertEquals(4L * productId, statistics.reviewCount(productId));
+            ReviewStats stats = statistics.stats(productId);
+            assertEquals(stats.getReviewCount(), stats.getRatedCount());
+            assertEquals(stats.getReviewCount(), IntStream.range(0, 5).mapToLong(i -> stats.getRatingCounts()[i]).sum());
+        }
+        List<Integer> expected = IntStream.rangeClosed(1, products).boxed()
+                .sorted(Comparator.comparingLong((Integer id) -> statistics.reviewCount(id)).reversed()
+                        .thenComparing(Comparator.naturalOrder()))
+                .limit(topN).toList();
+        assertEquals(expected, statistics.topProductsByReviewCount());
+    }
+
+    private static void add(ReviewStatistics statistics, int productId, int reviews) {
+        for (int i = 0; i < reviews; i++) {
+            statistics.onReviewAdded(new Review(productId, "review", 4));
+        }
+    }
+}
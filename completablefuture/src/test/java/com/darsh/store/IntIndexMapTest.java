@@ -0,0 +1,80 @@
+package com.darsh.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IntIndexMapTest {
+
+    @Test
+    void collidingKeysProbeToTheirOwnSlots() {
+        IntIndexMap map = new IntIndexMap(8);
+        int mask = map.capacity() - 1;
+        List<Integer> colliding = collidingKeys(mask, 5);
+        for (int i = 0; i < colliding.size(); i++) {
+            assertEquals(-1, map.put(colliding.get(i), i));
+        }
+        for (int i = 0; i < colliding.size(); i++) {
+            assertEquals(i, map.get(colliding.get(i)));
+        }
+        assertEquals(2, map.put(colliding.get(2), 20));
+        assertEquals(20, map.get(colliding.get(2)));
+        assertEquals(5, map.size());
+        // An absent key whose probe walks the same chain
+        assertEquals(-1, map.get(collidingKeys(mask, 6).get(5)));
+    }
+
+    @Test
+    void growsPastThreeQuartersInsteadOfThrowing() {
+        IntIndexMap map = new IntIndexMap(1);
+        int initialCapacity = map.capacity();
+        int fill = initialCapacity * 3 / 4;
+        for (int key = 0; key < fill; key++) {
+            map.put(key, key);
+        }
+        assertEquals(initialCapacity, map.capacity());
+
+        map.put(fill, fill);
+        assertEquals(initialCapacity * 2, map.capacity());
+        for (int key = fill + 1; key < 10_000; key++) {
+            map.put(key * 31, key);
+        }
+        for (int key = 0; key <= fill; key++) {
+            assertEquals(key, map.get(key));
+        }
+        for (int key = fill + 1; key < 10_000; key++) {
+            assertEquals(key, map.get(key * 31));
+        }
+        assertEquals(10_000, map.size());
+    }
+
+    @Test
+    void extremeKeysAndBadSlots() {
+        IntIndexMap map = new IntIndexMap(4);
+        map.put(Integer.MIN_VALUE, 1);
+        map.put(Integer.MAX_VALUE, 2);
+        map.put(0, 3);
+        map.put(-1, 4);
+        assertEquals(1, map.get(Integer.MIN_VALUE));
+        assertEquals(2, map.get(Integer.MAX_VALUE));
+        assertEquals(3, map.get(0));
+        assertEquals(4, map.get(-1));
+        assertEquals(-1, map.get(1));
+        assertThrows(IllegalArgumentException.class, () -> map.put(5, -1));
+    }
+
+    private static List<Integer> collidingKeys(int mask, int count) {
+        List<Integer> keys = new ArrayList<>(count);
+        int home = IntIndexMap.mix(1) & mask;
+        for (int key = 1; keys.size() < count; key++) {
+            if ((IntIndexMap.mix(key) & mask) == home) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,120 @@
+package com.darsh.store;
+
+import com.darsh.model.Product;
+import com.darsh.model.Review;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductStoreTest {
+
+    @Test
+    void initialReviewsKeepTheirOrderPerProduct() {
+        ProductStore store = store(List.of(
+                new Review(2, "b1", 3), new Review(1, "a1", 5), new Review(2, "b2", 4),
+                new Review(9, "unknown product", 1), new Review(1, "a2", 2)));
+
+        assertEquals(List.of("a1", "a2"), texts(store.findReviews(1)));
+        assertEquals(List.of("b1", "b2"), texts(store.findReviews(2)));
+        assertTrue(store.findReviews(3).isEmpty());
+        assertTrue(store.findReviews(9).isEmpty());
+        assertNull(store.findProduct(9));
+    }
+
+    @Test
+    void addedReviewsAppendInOrderWithoutTouchingNeighbours() {
+        ProductStore store = store(List.of(new Review(1, "a1", 5), new Review(2, "b1", 3)));
+        List<Review> before = store.findReviews(1);
+        for (int i = 2; i <= 20; i++) {
+            assertTrue(store.addReview(new Review(1, "a" + i, 4)));
+        }
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            expected.add("a" + i);
+        }
+        assertEquals(expected, texts(store.findReviews(1)));
+        assertEquals(List.of("b1"), texts(store.findReviews(2)));
+        // Views already handed out keep the length they were published with
+        assertEquals(List.of("a1"), texts(before));
+        assertFalse(store.addReview(new Review(9, "unknown", 1)));
+        assertThrows(UnsupportedOperationException.class, () -> store.findReviews(1).add(new Review(1, "x", 1)));
+    }
+
+    @Test
+    void concurrentAddsKeepEveryReviewAndEachWritersOrder() throws InterruptedException {
+        ProductStore store = store(List.of());
+        int writers = 4;
+        int perWriter = 5_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perWriter; i++) {
+                    store.addReview(new Review(1, writer + ":" + i, 5));
+                    // Readers see complete lists while writers grow the log
+                    List<Review> snapshot = store.findReviews(1);
+                    snapshot.get(snapshot.size() - 1).getReview();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        List<Review> reviews = store.findReviews(1);
+        assertEquals(writers * perWriter, reviews.size());
+        int[] next = new int[writers];
+        for (Review review : reviews) {
+            String[] parts = review.getReview().split(":");
+            int writer = Integer.parseInt(parts[0]);
+            assertEquals(next[writer]++, Integer.parseInt(parts[1]));
+        }
+    }
+
+    @Test
+    void duplicateProductIdsAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ProductStore(List.of(new Product(1, "a"), new Product(1, "b")), List.of()));
+    }
+
+    @Test
+    void pagesWalkIdsInAscendingOrder() {
+        ProductStore store = new ProductStore(List.of(new Product(30, "c"), new Product(10, "a"),
+                new Product(20, "b")), List.of());
+        assertEquals(List.of(10, 20), ids(store.productsAfter(null, 2)));
+        assertEquals(List.of(30), ids(store.productsAfter(20, 2)));
+        assertEquals(List.of(20, 30), ids(store.productsAfter(15, 5)));
+        assertTrue(store.productsAfter(30, 5).isEmpty());
+    }
+
+    private static ProductStore store(List<Review> reviews) {
+        return new ProductStore(List.of(new Product(1, "one"), new Product(2, "two"), new Product(3, "three")),
+                reviews);
+    }
+
+    private static List<String> texts(List<Review> reviews) {
+        return reviews.stream().map(Review::getReview).toList();
+    }
+
+    private static List<Integer> ids(List<Product> products) {
+        return products.stream().map(Product::getProductId).toList();
+    }
+}
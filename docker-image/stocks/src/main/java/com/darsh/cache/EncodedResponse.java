@@ -0,0 +1,56 @@
+package com.darsh.cache;
+
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A response body encoded once, with the strong ETag of exactly these bytes and, on demand, a gzip variant
+ * that is also compressed only once.
+ */
+public final class EncodedResponse {
+
+    private final byte[] body;
+    private final String etag;
+    private final MediaType contentType;
+    private volatile EncodedResponse gzipped;
+
+    public EncodedResponse(byte[] body, String etag, MediaType contentType) {
+        this.body = body;
+        this.etag = etag;
+        this.contentType = contentType;
+    }
+
+    public byte[] body() {
+        return body;
+    }
+
+    public String etag() {
+        return etag;
+    }
+
+    public MediaType contentType() {
+        return contentType;
+    }
+
+    /**
+     * The body gzip-compressed; its ETag differs so caches never confuse the two representations.
+     */
+    public EncodedResponse gzipped() {
+        EncodedResponse result = gzipped;
+        if (result == null) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2 + 32);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            result = new EncodedResponse(out.toByteArray(), etag.substring(0, etag.length() - 1) + "-gzip\"", contentType);
+            gzipped = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,78 @@
+package com.darsh.cache;
+
+import com.darsh.model.MyStock;
+import org.springframework.http.MediaType;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-layout binary encoding of stocks, in the style of Simple Binary Encoding: no field names and no text
+ * numbers, so a quote costs 16 bytes plus its strings and decodes with plain buffer reads.
+ * <p>
+ * Little-endian: {@code int32 count}, then per stock {@code int32 id, float64 price, uint16 nameLength, name,
+ * uint16 descriptionLength, description}, strings in UTF-8. A single stock is a list of one.
+ */
+public final class QuoteBinaryFormat {
+
+    public static final MediaType MEDIA_TYPE = new MediaType("application", "x-stock-quotes");
+
+    private QuoteBinaryFormat() {
+    }
+
+    public static byte[] encode(List<MyStock> stocks) {
+        List<byte[]> strings = new ArrayList<>(stocks.size() * 2);
+        int size = 4;
+        for (MyStock stock : stocks) {
+            byte[] name = utf8(stock.getName());
+            byte[] description = utf8(stock.getDescription());
+            strings.add(name);
+            strings.add(description);
+            size += 4 + 8 + 2 + name.length + 2 + description.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(stocks.size());
+        for (int i = 0; i < stocks.size(); i++) {
+            MyStock stock = stocks.get(i);
+            buffer.putInt(stock.getId());
+            buffer.putDouble(stock.getPrice());
+            putString(buffer, strings.get(2 * i));
+            putString(buffer, strings.get(2 * i + 1));
+        }
+        return buffer.array();
+    }
+
+    public static List<MyStock> decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        int count = buffer.getInt();
+        List<MyStock> stocks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int id = buffer.getInt();
+            double price = buffer.getDouble();
+            stocks.add(new MyStock(id, getString(buffer), price, getString(buffer)));
+        }
+        return stocks;
+    }
+
+    private static byte[] utf8(String value) {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("String longer than 65535 bytes: " + value.substring(0, 32) + "...");
+        }
+        return bytes;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
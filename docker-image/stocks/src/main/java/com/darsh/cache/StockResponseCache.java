@@ -0,0 +1,107 @@
+package com.darsh.cache;
+
+import com.darsh.model.MyStock;
+import com.darsh.price.PriceBook;
+import com.darsh.service.StockService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bodies for the stock endpoints, serialised once per format and content instead of once per request.
+ * <p>
+ * Each entry remembers the prices it was encoded from. A request reads the current prices of just the stocks in
+ * its body and reuses the entry while they are unchanged, so a tick on one stock leaves the other stocks' bodies
+ * (and ETags) alone, and a price set back to its old value finds the old body again. Under a busy tick feed nearly
+ * every read sees new prices; {@code stocks.response-cache.max-age} then lets an entry serve for that long before
+ * the prices are compared at all, which caps re-encoding at one body per entry per interval.
+ * <p>
+ * A fresh entry only replaces the one in its slot when it was read at a later book version, so a slow request that
+ * encoded older prices can never overwrite a newer body.
+ */
+@Component
+public class StockResponseCache {
+
+    // Key id of the list of all stocks
+    private static final int ALL_STOCKS = -1;
+
+    private final StockService stockService;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+    private final long maxAgeNanos;
+    private final Map<Key, AtomicReference<Entry>> entries = new ConcurrentHashMap<>();
+
+    public StockResponseCache(StockService stockService, ObjectMapper objectMapper,
+                              @Value("${stocks.response-cache.max-age:0ms}") Duration maxAge) {
+        this.stockService = stockService;
+        this.objectMapper = objectMapper;
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    public EncodedResponse allStocks(StockFormat format) {
+        return lookup(new Key(format, ALL_STOCKS), stockService.ids());
+    }
+
+    public Optional<EncodedResponse> stock(int id, StockFormat format) {
+        return stockService.exists(id) ? Optional.of(lookup(new Key(format, id), new int[]{id})) : Optional.empty();
+    }
+
+    private EncodedResponse lookup(Key key, int[] ids) {
+        AtomicReference<Entry> slot = entries.computeIfAbsent(key, k -> new AtomicReference<>());
+        Entry cached = slot.get();
+        long now = System.nanoTime();
+        if (cached != null && now - cached.encodedAt < maxAgeNanos) {
+            return cached.response;
+        }
+        PriceBook.Snapshot prices = stockService.prices(ids);
+        if (cached != null && Arrays.equals(cached.prices, prices.prices())) {
+            return cached.response;
+        }
+        Entry fresh = new Entry(prices.version(), prices.prices(), now,
+                encode(key.format, stockService.stocks(prices), key.id == ALL_STOCKS));
+        install(slot, fresh);
+        return fresh.response;
+    }
+
+    // Only ever moves forward in version: losing to a newer entry keeps that one
+    private static void install(AtomicReference<Entry> slot, Entry fresh) {
+        Entry current;
+        do {
+            current = slot.get();
+            if (current != null && current.version >= fresh.version) {
+                return;
+            }
+        } while (!slot.compareAndSet(current, fresh));
+    }
+
+    private EncodedResponse encode(StockFormat format, List<MyStock> stocks, boolean list) {
+        try {
+            Object value = list ? stocks : stocks.get(0);
+            byte[] body = switch (format) {
+                case JSON -> objectMapper.writeValueAsBytes(value);
+                case CBOR -> cborMapper.writeValueAsBytes(value);
+                case BINARY -> QuoteBinaryFormat.encode(stocks);
+            };
+            return new EncodedResponse(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"", format.mediaType());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode " + stocks, e);
+        }
+    }
+
+    private record Key(StockFormat format, int id) {
+    }
+
+    private record Entry(long version, double[] prices, long encodedAt, EncodedResponse response) {
+    }
+}
@@ -1,49 +1,133 @@
 package com.darsh.controller;
 
-import com.darsh.model.MyStock;
+import com.darsh.cache.EncodedResponse;
+import com.darsh.cache.StockFormat;
+import com.darsh.cache.StockResponseCache;
+import com.darsh.model.Candle;
+import com.darsh.price.PriceStream;
+import com.darsh.series.TimeSeriesStore;
+import com.darsh.service.StockService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 
+// Bodies are pre-encoded in the format the Accept header asks for (JSON, CBOR or the binary quote layout) and
+// gzipped once when large enough; Spring answers If-None-Match with 304 when the ETag still matches
 @RestController
 public class StockController {
 
+    private final StockService stockService;
+    private final StockResponseCache stockResponseCache;
+    private final PriceStream priceStream;
+    private final TimeSeriesStore timeSeriesStore;
+    private final long compressionMinSize;
+
+    public StockController(StockService stockService, StockResponseCache stockResponseCache, PriceStream priceStream,
+                           TimeSeriesStore timeSeriesStore,
+                           @Value("${server.compression.min-response-size:2KB}") DataSize compressionMinSize) {
+        this.stockService = stockService;
+        this.stockResponseCache = stockResponseCache;
+        this.priceStream = priceStream;
+        this.timeSeriesStore = timeSeriesStore;
+        this.compressionMinSize = compressionMinSize.toBytes();
+    }
+
     @GetMapping("/stock")
-    public ResponseEntity<MyStock> getStockInfo() {
-        MyStock googleStock = MyStock.builder()
-                .id(1)
-                .name("Google")
-                .price(200.00)
-                .description("Nothing")
-                .build();
+    public ResponseEntity<byte[]> getStockInfo(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return getStock(1, accept, acceptEncoding);
+    }
 
-        return ResponseEntity.status(200)
-                .body(googleStock);
+    @GetMapping("/stock/{id}")
+    public ResponseEntity<byte[]> getStock(@PathVariable int id,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return stockResponseCache.stock(id, StockFormat.negotiate(accept))
+                .map(response -> respond(response, acceptEncoding))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @GetMapping("/stocks")
-    public ResponseEntity<List<MyStock>> getAllStocks() {
-        MyStock google = MyStock.builder()
-                .id(1)
-                .name("Google")
-                .price(200.00)
-                .description("Nothing")
-                .build();
+    public ResponseEntity<byte[]> getAllStocks(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return respond(stockResponseCache.allStocks(StockFormat.negotiate(accept)), acceptEncoding);
+    }
 
-        MyStock apple = MyStock.builder()
-                .id(2)
-                .name("Apple")
-                .price(300.00)
-                .description("Nothing")
-                .build();
+    // One long-lived connection instead of polling /stocks; ids=1,2 limits the stream to those stocks
+    @GetMapping(path = "/stocks/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPrices(@RequestParam(defaultValue = "") int[] ids) {
+        return priceStream.subscribe(ids);
+    }
 
-        var list = List.of(google, apple);
+    // from/to are ISO-8601 instants and default to the last day; interval takes 10s, 1m, 1h style values
+    @GetMapping("/stocks/{id}/candles")
+    public ResponseEntity<List<Candle>> getCandles(@PathVariable int id,
+                                                   @RequestParam(defaultValue = "1m") String interval,
+                                                   @RequestParam(required = false) Instant from,
+                                                   @RequestParam(required = false) Instant to) {
+        if (stockService.getStock(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Instant end = to == null ? Instant.now() : to;
+        Instant start = from == null ? end.minus(Duration.ofDays(1)) : from;
+        return ResponseEntity.status(200).body(timeSeriesStore.candles(id, start, end,
+                DurationStyle.detectAndParse(interval)));
+    }
 
-        return ResponseEntity.status(200)
-                .body(list);
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
     }
 
+    // A stream client disconnecting surfaces here as the failed send's IOException; nothing is left to answer
+    @ExceptionHandler(IOException.class)
+    public void clientDisconnected() {
+    }
+
+    @PutMapping("/stock/{id}/price")
+    public ResponseEntity<Void> updatePrice(@PathVariable int id, @RequestParam double price) {
+        return stockService.updatePrice(id, price)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
 
+    private ResponseEntity<byte[]> respond(EncodedResponse response, String acceptEncoding) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(200)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(response.contentType());
+        if (response.body().length >= compressionMinSize && acceptsGzip(acceptEncoding)) {
+            response = response.gzipped();
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.eTag(response.etag()).body(response.body());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,19 @@
+package com.darsh.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Candle {
+    private Instant start;
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private int ticks;
+}
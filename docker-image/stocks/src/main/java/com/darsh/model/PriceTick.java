@@ -0,0 +1,13 @@
+package com.darsh.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceTick {
+    private int id;
+    private double price;
+}
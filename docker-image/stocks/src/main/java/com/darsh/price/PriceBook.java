@@ -0,0 +1,120 @@
+package com.darsh.price;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Latest price per stock id, held in a flat {@code double[]} indexed by id and published with a seqlock.
+ * <p>
+ * Writers are serialised and bump {@link #version()} to an odd value while they write, then to the next even
+ * value. Readers never lock: they copy what they need and retry if the version was odd or moved while copying,
+ * so every read is a consistent snapshot of the whole book. An absent id is stored as {@code NaN}.
+ */
+@Component
+public class PriceBook {
+
+    private static final VarHandle SEQUENCE;
+
+    static {
+        try {
+            SEQUENCE = MethodHandles.lookup().findVarHandle(PriceBook.class, "sequence", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final double[] prices;
+    private volatile long sequence;
+
+    public PriceBook(@Value("${stocks.price-book.capacity:1024}") int capacity) {
+        prices = new double[capacity];
+        Arrays.fill(prices, Double.NaN);
+    }
+
+    public int capacity() {
+        return prices.length;
+    }
+
+    /**
+     * Even number that changes with every write; equal versions mean equal prices.
+     */
+    public long version() {
+        long version;
+        while (((version = (long) SEQUENCE.getAcquire(this)) & 1) != 0) {
+            Thread.onSpinWait();
+        }
+        return version;
+    }
+
+    public synchronized void register(int id, double price) {
+        checkId(id);
+        write(id, price);
+    }
+
+    /**
+     * Sets the price of a registered id; false if the id is unknown.
+     */
+    public synchronized boolean update(int id, double price) {
+        if (id < 0 || id >= prices.length || Double.isNaN(prices[id])) {
+            return false;
+        }
+        write(id, price);
+        return true;
+    }
+
+    public double price(int id) {
+        if (id < 0 || id >= prices.length) {
+            return Double.NaN;
+        }
+        while (true) {
+            long before = (long) SEQUENCE.getAcquire(this);
+            double price = prices[id];
+            VarHandle.acquireFence();
+            if ((before & 1) == 0 && before == (long) SEQUENCE.getOpaque(this)) {
+                return price;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Prices of {@code ids} (NaN where unknown) and the version they were read at, all from one instant.
+     */
+    public Snapshot snapshot(int[] ids) {
+        double[] copy = new double[ids.length];
+        while (true) {
+            long before = (long) SEQUENCE.getAcquire(this);
+            for (int i = 0; i < ids.length; i++) {
+                int id = ids[i];
+                copy[i] = id < 0 || id >= prices.length ? Double.NaN : prices[id];
+            }
+            VarHandle.acquireFence();
+            if ((before & 1) == 0 && before == (long) SEQUENCE.getOpaque(this)) {
+                return new Snapshot(before, ids, copy);
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    // Caller holds the monitor, so there is only ever one writer
+    private void write(int id, double price) {
+        long current = sequence;
+        SEQUENCE.setOpaque(this, current + 1);
+        VarHandle.storeStoreFence();
+        prices[id] = price;
+        SEQUENCE.setRelease(this, current + 2);
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= prices.length) {
+            throw new IllegalArgumentException("Stock id " + id + " is outside the price book (capacity " + prices.length + ")");
+        }
+    }
+
+    public record Snapshot(long version, int[] ids, double[] prices) {
+    }
+}
@@ -0,0 +1,191 @@
+package com.darsh.price;
+
+import com.darsh.model.PriceTick;
+import com.darsh.service.StockService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes price changes to Server-Sent Events subscribers.
+ * <p>
+ * Every interval one snapshot of the {@link PriceBook} is taken and each subscriber gets a single {@code prices}
+ * frame holding the prices of its stocks that changed since the last frame it received. Sends are blocking writes,
+ * so they run on the stream's own bounded pool, never on threads shared with other work. Each subscriber has at
+ * most one send in flight: if its previous frame is still being written it skips the round, and its next frame is
+ * computed against what it actually received, so a slow consumer only ever gets the latest price per stock. A
+ * subscriber whose send has been stuck for longer than {@code stocks.stream.max-send-time} is dropped and its
+ * stream closed once the write returns; when every sender thread is busy, subscribers skip the round.
+ */
+@Slf4j
+@Component
+public class PriceStream {
+
+    private final PriceBook priceBook;
+    private final ThreadPoolExecutor sender;
+    private final long timeoutMillis;
+    private final long maxSendNanos;
+    private final int[] ids;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public PriceStream(PriceBook priceBook, StockService stockService,
+                       @Value("${stocks.stream.timeout:30m}") Duration timeout,
+                       @Value("${stocks.stream.send-threads:64}") int sendThreads,
+                       @Value("${stocks.stream.max-send-time:5s}") Duration maxSendTime) {
+        this.priceBook = priceBook;
+        this.timeoutMillis = timeout.toMillis();
+        this.maxSendNanos = maxSendTime.toNanos();
+        this.ids = stockService.ids();
+        // Threads are started on demand up to the bound and retire after a minute idle; no queue, so a full pool
+        // rejects at once instead of piling up stale frames
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("price-stream-");
+        threadFactory.setDaemon(true);
+        this.sender = new ThreadPoolExecutor(0, sendThreads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                threadFactory);
+    }
+
+    /**
+     * New subscription to the given stock ids, or to all stocks if {@code filter} is empty. Unknown ids are ignored.
+     */
+    public SseEmitter subscribe(int[] filter) {
+        int[] positions = new int[ids.length];
+        int count = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (filter.length == 0 || contains(filter, ids[i])) {
+                positions[count++] = i;
+            }
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, Arrays.copyOf(positions, count));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        // First frame is the full current state of the subscribed stocks
+        subscriber.offer(priceBook.snapshot(ids));
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    @Scheduled(fixedDelayString = "${stocks.stream.interval-ms:100}")
+    public void publish() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        PriceBook.Snapshot snapshot = priceBook.snapshot(ids);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(snapshot);
+        }
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        // Indexes into the snapshot of the stocks this subscriber wants
+        private final int[] positions;
+        // Last prices written to this subscriber; only touched by whoever holds inFlight
+        private final double[] sent;
+        private long sentVersion = -1;
+        private final AtomicBoolean inFlight = new AtomicBoolean();
+        // System.nanoTime() when the current send started
+        private volatile long sendStarted;
+        private volatile boolean dropped;
+
+        private Subscriber(SseEmitter emitter, int[] positions) {
+            this.emitter = emitter;
+            this.positions = positions;
+            this.sent = new double[positions.length];
+            Arrays.fill(sent, Double.NaN);
+        }
+
+        void offer(PriceBook.Snapshot snapshot) {
+            if (!inFlight.compareAndSet(false, true)) {
+                if (!dropped && System.nanoTime() - sendStarted > maxSendNanos) {
+                    // Stalled; the send thread closes the stream when its write returns
+                    log.info("Dropping price stream subscriber whose send has been blocked for over {} ms",
+                            TimeUnit.NANOSECONDS.toMillis(maxSendNanos));
+                    dropped = true;
+                    subscribers.remove(this);
+                }
+                return;
+            }
+            if (snapshot.version() == sentVersion) {
+                inFlight.set(false);
+                return;
+            }
+            List<PriceTick> changes = new ArrayList<>();
+            double[] prices = snapshot.prices();
+            for (int i = 0; i < positions.length; i++) {
+                double price = prices[positions[i]];
+                if (Double.compare(price, sent[i]) != 0) {
+                    changes.add(new PriceTick(snapshot.ids()[positions[i]], price));
+                }
+            }
+            if (changes.isEmpty()) {
+                sentVersion = snapshot.version();
+                inFlight.set(false);
+                return;
+            }
+            sendStarted = System.nanoTime();
+            try {
+                sender.execute(() -> send(changes, prices, snapshot.version()));
+            } catch (RejectedExecutionException e) {
+                // Every sender thread is busy: skip the round, the next frame carries the latest prices
+                inFlight.set(false);
+            }
+        }
+
+        private void send(List<PriceTick> changes, double[] prices, long version) {
+            try {
+                emitter.send(SseEmitter.event().name("prices").data(changes, MediaType.APPLICATION_JSON));
+                for (int i = 0; i < positions.length; i++) {
+                    sent[i] = prices[positions[i]];
+                }
+                sentVersion = version;
+                if (dropped) {
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the emitter already completed; Spring completes the async request itself
+                log.debug("Dropping price stream subscriber: {}", e.getMessage());
+                subscribers.remove(this);
+            } finally {
+                inFlight.set(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.darsh.price;
+
+import com.darsh.service.StockService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Simulated market data: one thread walks the prices of the given ids randomly around their starting price and
+ * writes them to the {@link PriceBook} at a fixed rate. Enabled with {@code stocks.tick-feed.enabled=true}.
+ * <p>
+ * The starting prices come from {@link StockService}, which registers them in the book, so the feed depends on it
+ * and starts only once the application is ready. An id without a price yet is skipped and looked up again later.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "stocks.tick-feed.enabled", havingValue = "true")
+public class TickFeed implements Runnable {
+
+    private final PriceBook priceBook;
+    private final StockService stockService;
+    private final int[] ids;
+    private final long ticksPerSecond;
+    private volatile boolean running;
+    private Thread thread;
+
+    public TickFeed(PriceBook priceBook, StockService stockService,
+                    @Value("${stocks.tick-feed.ids:1,2}") int[] ids,
+                    @Value("${stocks.tick-feed.ticks-per-second:200000}") long ticksPerSecond) {
+        this.priceBook = priceBook;
+        this.stockService = stockService;
+        this.ids = ids;
+        this.ticksPerSecond = ticksPerSecond;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        thread = new Thread(this, "tick-feed");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.join(TimeUnit.SECONDS.toMillis(1));
+        }
+    }
+
+    @Override
+    public void run() {
+        SplittableRandom random = new SplittableRandom();
+        double[] reference = priceBook.snapshot(ids).prices();
+        for (int slot = 0; slot < ids.length; slot++) {
+            if (Double.isNaN(reference[slot])) {
+                log.warn("Tick feed skips stock {} until it has a price", ids[slot]);
+            }
+        }
+        // Ticks are written in 1 ms slices so pacing costs one park per slice, not per tick
+        long perSlice = Math.max(1, ticksPerSecond / 1000);
+        long ticks = 0;
+        long reportedAt = System.nanoTime();
+        long nextSlice = reportedAt;
+        while (running) {
+            for (long i = 0; i < perSlice; i++) {
+                int slot = random.nextInt(ids.length);
+                if (Double.isNaN(reference[slot])) {
+                    // A walk around NaN would only ever write the 0.01 floor
+                    reference[slot] = priceBook.price(ids[slot]);
+                    continue;
+                }
+                double price = priceBook.price(ids[slot]);
+                if (!Double.isNaN(price)) {
+                    // Noise of up to +/-0.05% of the starting price, pulled back towards it so prices stay plausible
+                    double next = price + (reference[slot] - price) * 0.001
+                            + (random.nextDouble() - 0.5) * 0.001 * reference[slot];
+                    stockService.updatePrice(ids[slot], Math.max(0.01, Math.round(next * 100) / 100.0));
+                }
+            }
+            ticks += perSlice;
+            nextSlice += TimeUnit.MILLISECONDS.toNanos(1);
+            long now = System.nanoTime();
+            if (nextSlice > now) {
+                LockSupport.parkNanos(nextSlice - now);
+            } else if (now - nextSlice > TimeUnit.SECONDS.toNanos(1)) {
+                // Fell behind by more than a second: drop the backlog instead of bursting to catch up
+                nextSlice = now;
+            }
+            if (now - reportedAt >= TimeUnit.SECONDS.toNanos(10)) {
+                log.info("Tick feed wrote {} ticks/s", ticks * TimeUnit.SECONDS.toNanos(1) / (now - reportedAt));
+                ticks = 0;
+                reportedAt = now;
+            }
+        }
+    }
+}
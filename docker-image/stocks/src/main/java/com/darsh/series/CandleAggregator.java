@@ -0,0 +1,40 @@
+package com.darsh.series;
+
+import com.darsh.model.Candle;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Merges time-ordered ticks or finer buckets into candles of one interval, aligned to the epoch.
+ */
+final class CandleAggregator {
+
+    private final long intervalMillis;
+    private final List<Candle> candles = new ArrayList<>();
+    private Candle current;
+    private long currentStart;
+
+    CandleAggregator(long intervalMillis) {
+        this.intervalMillis = intervalMillis;
+    }
+
+    void add(long timestamp, double open, double high, double low, double close, int count) {
+        long start = Math.floorDiv(timestamp, intervalMillis) * intervalMillis;
+        if (current != null && start == currentStart) {
+            current.setHigh(Math.max(current.getHigh(), high));
+            current.setLow(Math.min(current.getLow(), low));
+            current.setClose(close);
+            current.setTicks(current.getTicks() + count);
+            return;
+        }
+        current = new Candle(Instant.ofEpochMilli(start), open, high, low, close, count);
+        currentStart = start;
+        candles.add(current);
+    }
+
+    List<Candle> candles() {
+        return candles;
+    }
+}
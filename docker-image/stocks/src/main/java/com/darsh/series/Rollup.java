@@ -0,0 +1,65 @@
+package com.darsh.series;
+
+import java.util.Arrays;
+
+/**
+ * OHLC buckets of a fixed width, kept in parallel primitive arrays and updated as ticks arrive in time order.
+ */
+final class Rollup {
+
+    private final long bucketMillis;
+    private long[] starts = new long[64];
+    private double[] open = new double[64];
+    private double[] high = new double[64];
+    private double[] low = new double[64];
+    private double[] close = new double[64];
+    private int[] counts = new int[64];
+    private int size;
+
+    Rollup(long bucketMillis) {
+        this.bucketMillis = bucketMillis;
+    }
+
+    long bucketMillis() {
+        return bucketMillis;
+    }
+
+    void add(long timestamp, double price) {
+        long start = Math.floorDiv(timestamp, bucketMillis) * bucketMillis;
+        int last = size - 1;
+        if (size > 0 && starts[last] == start) {
+            high[last] = Math.max(high[last], price);
+            low[last] = Math.min(low[last], price);
+            close[last] = price;
+            counts[last]++;
+            return;
+        }
+        if (size == starts.length) {
+            int capacity = size * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            open = Arrays.copyOf(open, capacity);
+            high = Arrays.copyOf(high, capacity);
+            low = Arrays.copyOf(low, capacity);
+            close = Arrays.copyOf(close, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+        }
+        starts[size] = start;
+        open[size] = price;
+        high[size] = price;
+        low[size] = price;
+        close[size] = price;
+        counts[size] = 1;
+        size++;
+    }
+
+    /**
+     * Feeds the buckets starting in [from, to) to {@code candles}; with bucket-aligned bounds those are exactly the
+     * ticks in [from, to).
+     */
+    void aggregate(long from, long to, CandleAggregator candles) {
+        int index = Arrays.binarySearch(starts, 0, size, from);
+        for (int i = index >= 0 ? index : -index - 1; i < size && starts[i] < to; i++) {
+            candles.add(starts[i], open[i], high[i], low[i], close[i], counts[i]);
+        }
+    }
+}
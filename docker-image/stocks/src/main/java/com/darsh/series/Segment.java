@@ -0,0 +1,340 @@
+package com.darsh.series;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * One memory-mapped, append-only file of ticks for one stock, compressed as in Facebook's Gorilla paper.
+ * <p>
+ * Timestamps are stored as the difference between consecutive deltas, so a steady sampling rate costs one bit per
+ * tick. Prices are XORed with the previous price and only the meaningful bits of the result are written, reusing
+ * the previous leading/trailing zero window when it fits. A 32 byte header holds the tick count, the length of the
+ * bit stream and the first and last timestamps. Every {@value #CHECKPOINT_TICKS} ticks the encoder state is noted in
+ * memory, so a read can start decoding close to the time it wants instead of at the start of the file.
+ */
+final class Segment {
+
+    static final int HEADER_BYTES = 32;
+    // Worst case for one tick: 4 + 64 timestamp bits, 2 + 5 + 6 + 64 value bits
+    private static final int MAX_TICK_BITS = 145;
+    private static final int MAGIC = 0x54534731;
+    static final int CHECKPOINT_TICKS = 1024;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final long capacityBits;
+
+    private int count;
+    private long bitLength;
+    private long firstTimestamp;
+    private long lastTimestamp;
+    // Encoder state, continued from the last tick
+    private long previousDelta;
+    private long previousValueBits;
+    private int previousLeading = -1;
+    private int previousTrailing;
+    // Checkpoint i holds the state after tick (i + 1) * CHECKPOINT_TICKS - 1, i.e. where that many ticks end
+    private long[] checkpointTimestamps = new long[16];
+    private long[] checkpointPositions = new long[16];
+    private long[] checkpointDeltas = new long[16];
+    private long[] checkpointValueBits = new long[16];
+    private int[] checkpointWindows = new int[16];
+    private int checkpoints;
+
+    private Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacityBits = (long) (buffer.capacity() - HEADER_BYTES) * 8;
+    }
+
+    static Segment create(Path path, int sizeBytes) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        Segment segment = new Segment(path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, sizeBytes));
+        segment.buffer.putInt(0, MAGIC);
+        segment.writeHeader();
+        return segment;
+    }
+
+    /**
+     * Maps an existing segment and replays it to restore the encoder state, so appends continue where they stopped.
+     */
+    static Segment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Segment segment = new Segment(path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+        if (segment.buffer.getInt(0) != MAGIC) {
+            channel.close();
+            throw new IOException("Not a tick segment: " + path);
+        }
+        segment.count = segment.buffer.getInt(4);
+        segment.bitLength = segment.buffer.getLong(8);
+        segment.firstTimestamp = segment.buffer.getLong(16);
+        segment.lastTimestamp = segment.buffer.getLong(24);
+        Cursor cursor = segment.cursor();
+        while (cursor.next()) {
+            // Replaying restores the cursor's copy of the encoder state and the checkpoints
+            if (cursor.read % CHECKPOINT_TICKS == 0) {
+                segment.checkpoint(cursor.timestamp, cursor.position, cursor.delta, cursor.valueBits,
+                        cursor.leading, cursor.trailing);
+            }
+        }
+        segment.previousDelta = cursor.delta;
+        segment.previousValueBits = cursor.valueBits;
+        segment.previousLeading = cursor.leading;
+        segment.previousTrailing = cursor.trailing;
+        return segment;
+    }
+
+    boolean hasRoom() {
+        return capacityBits - bitLength >= MAX_TICK_BITS;
+    }
+
+    /**
+     * Appends a tick; {@code timestamp} must not be before {@link #lastTimestamp()}.
+     */
+    void append(long timestamp, double price) {
+        long valueBits = Double.doubleToRawLongBits(price);
+        if (count == 0) {
+            writeBits(timestamp, 64);
+            writeBits(valueBits, 64);
+            firstTimestamp = timestamp;
+        } else {
+            long delta = timestamp - lastTimestamp;
+            writeTimestamp(delta - previousDelta);
+            writeValue(valueBits ^ previousValueBits);
+            previousDelta = delta;
+        }
+        previousValueBits = valueBits;
+        lastTimestamp = timestamp;
+        count++;
+        writeHeader();
+        if (count % CHECKPOINT_TICKS == 0) {
+            checkpoint(timestamp, bitLength, previousDelta, previousValueBits, previousLeading, previousTrailing);
+        }
+    }
+
+    int count() {
+        return count;
+    }
+
+    long firstTimestamp() {
+        return firstTimestamp;
+    }
+
+    long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    long sizeBytes() {
+        return HEADER_BYTES + (bitLength + 7) / 8;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * A cursor whose next tick is the first one that can be at or after {@code from}; earlier ticks may still
+     * follow, but fewer than one checkpoint interval of them.
+     */
+    Cursor cursorFrom(long from) {
+        Cursor cursor = new Cursor();
+        // Last checkpoint whose tick is before from: every tick up to it is before from too
+        int low = 0;
+        int high = checkpoints - 1;
+        int found = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (checkpointTimestamps[middle] < from) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        if (found >= 0) {
+            cursor.read = (found + 1) * CHECKPOINT_TICKS;
+            cursor.timestamp = checkpointTimestamps[found];
+            cursor.position = checkpointPositions[found];
+            cursor.delta = checkpointDeltas[found];
+            cursor.valueBits = checkpointValueBits[found];
+            cursor.leading = checkpointWindows[found] >> 8;
+            cursor.trailing = checkpointWindows[found] & 0xFF;
+        }
+        return cursor;
+    }
+
+    void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private void checkpoint(long timestamp, long position, long delta, long valueBits, int leading, int trailing) {
+        if (checkpoints == checkpointTimestamps.length) {
+            int capacity = checkpoints * 2;
+            checkpointTimestamps = Arrays.copyOf(checkpointTimestamps, capacity);
+            checkpointPositions = Arrays.copyOf(checkpointPositions, capacity);
+            checkpointDeltas = Arrays.copyOf(checkpointDeltas, capacity);
+            checkpointValueBits = Arrays.copyOf(checkpointValueBits, capacity);
+            checkpointWindows = Arrays.copyOf(checkpointWindows, capacity);
+        }
+        checkpointTimestamps[checkpoints] = timestamp;
+        checkpointPositions[checkpoints] = position;
+        checkpointDeltas[checkpoints] = delta;
+        checkpointValueBits[checkpoints] = valueBits;
+        // Leading is -1 until the first window is written; keep its sign in the high bits
+        checkpointWindows[checkpoints] = (leading << 8) | trailing;
+        checkpoints++;
+    }
+
+    private void writeTimestamp(long deltaOfDelta) {
+        if (deltaOfDelta == 0) {
+            writeBits(0b0, 1);
+        } else if (deltaOfDelta >= -63 && deltaOfDelta <= 64) {
+            writeBits(0b10, 2);
+            writeBits(deltaOfDelta + 63, 7);
+        } else if (deltaOfDelta >= -255 && deltaOfDelta <= 256) {
+            writeBits(0b110, 3);
+            writeBits(deltaOfDelta + 255, 9);
+        } else if (deltaOfDelta >= -2047 && deltaOfDelta <= 2048) {
+            writeBits(0b1110, 4);
+            writeBits(deltaOfDelta + 2047, 12);
+        } else {
+            writeBits(0b1111, 4);
+            writeBits(deltaOfDelta, 64);
+        }
+    }
+
+    private void writeValue(long xor) {
+        if (xor == 0) {
+            writeBits(0b0, 1);
+            return;
+        }
+        int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        int trailing = Long.numberOfTrailingZeros(xor);
+        if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+            writeBits(0b10, 2);
+            writeBits(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+        } else {
+            int meaningful = 64 - leading - trailing;
+            writeBits(0b11, 2);
+            writeBits(leading, 5);
+            writeBits(meaningful - 1, 6);
+            writeBits(xor >>> trailing, meaningful);
+            previousLeading = leading;
+            previousTrailing = trailing;
+        }
+    }
+
+    // Most significant bit first
+    private void writeBits(long value, int bits) {
+        while (bits > 0) {
+            int index = HEADER_BYTES + (int) (bitLength >>> 3);
+            int offset = (int) (bitLength & 7);
+            int free = 8 - offset;
+            int take = Math.min(free, bits);
+            int chunk = (int) ((value >>> (bits - take)) & ((1 << take) - 1));
+            int current = offset == 0 ? 0 : buffer.get(index);
+            buffer.put(index, (byte) (current | (chunk << (free - take))));
+            bits -= take;
+            bitLength += take;
+        }
+    }
+
+    private void writeHeader() {
+        buffer.putInt(4, count);
+        buffer.putLong(8, bitLength);
+        buffer.putLong(16, firstTimestamp);
+        buffer.putLong(24, lastTimestamp);
+    }
+
+    /**
+     * Decodes the ticks in order. Only valid while the segment is not appended to.
+     */
+    final class Cursor {
+        private final int total = count;
+        private int read;
+        private long position;
+        private long timestamp;
+        private long delta;
+        private long valueBits;
+        private int leading = -1;
+        private int trailing;
+
+        boolean next() {
+            if (read == total) {
+                return false;
+            }
+            if (read == 0) {
+                timestamp = readBits(64);
+                valueBits = readBits(64);
+            } else {
+                delta += readTimestamp();
+                timestamp += delta;
+                valueBits ^= readValue();
+            }
+            read++;
+            return true;
+        }
+
+        long timestamp() {
+            return timestamp;
+        }
+
+        double price() {
+            return Double.longBitsToDouble(valueBits);
+        }
+
+        private long readTimestamp() {
+            if (readBits(1) == 0) {
+                return 0;
+            }
+            if (readBits(1) == 0) {
+                return readBits(7) - 63;
+            }
+            if (readBits(1) == 0) {
+                return readBits(9) - 255;
+            }
+            if (readBits(1) == 0) {
+                return readBits(12) - 2047;
+            }
+            return readBits(64);
+        }
+
+        private long readValue() {
+            if (readBits(1) == 0) {
+                return 0;
+            }
+            if (readBits(1) == 1) {
+                leading = (int) readBits(5);
+                trailing = 64 - leading - ((int) readBits(6) + 1);
+            }
+            return readBits(64 - leading - trailing) << trailing;
+        }
+
+        private long readBits(int bits) {
+            long value = 0;
+            while (bits > 0) {
+                int index = HEADER_BYTES + (int) (position >>> 3);
+                int offset = (int) (position & 7);
+                int available = 8 - offset;
+                int take = Math.min(available, bits);
+                int chunk = ((buffer.get(index) & 0xFF) >>> (available - take)) & ((1 << take) - 1);
+                value = (value << take) | chunk;
+                bits -= take;
+                position += take;
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.darsh.series;
+
+import com.darsh.price.PriceBook;
+import com.darsh.service.StockService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Samples the {@link PriceBook} at a fixed rate and appends the prices that changed to the {@link TimeSeriesStore}.
+ * Sampling bounds the history to one tick per stock per interval however fast the feed writes.
+ */
+@Component
+public class SeriesRecorder {
+
+    private final PriceBook priceBook;
+    private final TimeSeriesStore store;
+    private final int[] ids;
+    private final double[] recorded;
+    private long recordedVersion = -1;
+
+    public SeriesRecorder(PriceBook priceBook, TimeSeriesStore store, StockService stockService) {
+        this.priceBook = priceBook;
+        this.store = store;
+        this.ids = stockService.ids();
+        this.recorded = new double[ids.length];
+        Arrays.fill(recorded, Double.NaN);
+    }
+
+    @Scheduled(fixedRateString = "${stocks.series.sample-interval-ms:100}")
+    public void sample() {
+        PriceBook.Snapshot snapshot = priceBook.snapshot(ids);
+        if (snapshot.version() == recordedVersion) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        double[] prices = snapshot.prices();
+        for (int i = 0; i < ids.length; i++) {
+            if (!Double.isNaN(prices[i]) && Double.compare(prices[i], recorded[i]) != 0) {
+                store.append(ids[i], now, prices[i]);
+                recorded[i] = prices[i];
+            }
+        }
+        recordedVersion = snapshot.version();
+    }
+}
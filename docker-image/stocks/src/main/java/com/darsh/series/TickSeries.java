@@ -0,0 +1,139 @@
+package com.darsh.series;
+
+import com.darsh.model.Candle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * All ticks of one stock: a chain of {@link Segment} files plus minute and hour {@link Rollup}s kept in memory.
+ * Candles whose interval is a whole number of hours or minutes are built from a rollup for the buckets that lie
+ * entirely inside the range, and from raw ticks for the partial buckets at either end, so every tick counted is in
+ * [from, to). Anything finer decodes the raw ticks of the segments that overlap the range.
+ */
+final class TickSeries {
+
+    private static final long MINUTE = 60_000;
+    private static final long HOUR = 60 * MINUTE;
+
+    private final int id;
+    private final Path directory;
+    private final int segmentBytes;
+    private final List<Segment> segments = new ArrayList<>();
+    private final Rollup minutes = new Rollup(MINUTE);
+    private final Rollup hours = new Rollup(HOUR);
+
+    TickSeries(int id, Path directory, int segmentBytes) {
+        this.id = id;
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+    }
+
+    static String fileName(int id, int sequence) {
+        return String.format("%d-%06d.seg", id, sequence);
+    }
+
+    /**
+     * Adds an existing segment, in sequence order, and rolls its ticks up.
+     */
+    synchronized void load(Path path) throws IOException {
+        Segment segment = Segment.open(path);
+        Segment.Cursor cursor = segment.cursor();
+        while (cursor.next()) {
+            minutes.add(cursor.timestamp(), cursor.price());
+            hours.add(cursor.timestamp(), cursor.price());
+        }
+        segments.add(segment);
+    }
+
+    /**
+     * Appends a tick. Timestamps earlier than the last one are moved up to it, so the series stays ordered.
+     */
+    synchronized void append(long timestamp, double price) {
+        Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (last != null && last.count() > 0) {
+            timestamp = Math.max(timestamp, last.lastTimestamp());
+        }
+        if (last == null || !last.hasRoom()) {
+            last = newSegment();
+        }
+        last.append(timestamp, price);
+        minutes.add(timestamp, price);
+        hours.add(timestamp, price);
+    }
+
+    synchronized List<Candle> candles(long from, long to, long intervalMillis) {
+        CandleAggregator candles = new CandleAggregator(intervalMillis);
+        Rollup rollup = intervalMillis % HOUR == 0 ? hours : intervalMillis % MINUTE == 0 ? minutes : null;
+        if (rollup == null) {
+            scan(from, to, candles);
+            return candles.candles();
+        }
+        // Whole rollup buckets between the first boundary at or after from and the last one at or before to
+        long bucket = rollup.bucketMillis();
+        long alignedFrom = -Math.floorDiv(-from, bucket) * bucket;
+        long alignedTo = Math.floorDiv(to, bucket) * bucket;
+        if (alignedFrom >= alignedTo) {
+            scan(from, to, candles);
+        } else {
+            scan(from, alignedFrom, candles);
+            rollup.aggregate(alignedFrom, alignedTo, candles);
+            scan(alignedTo, to, candles);
+        }
+        return candles.candles();
+    }
+
+    // Raw ticks in [from, to), in time order
+    private void scan(long from, long to, CandleAggregator candles) {
+        if (from >= to) {
+            return;
+        }
+        for (Segment segment : segments) {
+            if (segment.count() == 0 || segment.lastTimestamp() < from || segment.firstTimestamp() >= to) {
+                continue;
+            }
+            Segment.Cursor cursor = segment.cursorFrom(from);
+            while (cursor.next() && cursor.timestamp() < to) {
+                if (cursor.timestamp() >= from) {
+                    double price = cursor.price();
+                    candles.add(cursor.timestamp(), price, price, price, price, 1);
+                }
+            }
+        }
+    }
+
+    synchronized long ticks() {
+        long ticks = 0;
+        for (Segment segment : segments) {
+            ticks += segment.count();
+        }
+        return ticks;
+    }
+
+    synchronized long sizeBytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            bytes += segment.sizeBytes();
+        }
+        return bytes;
+    }
+
+    synchronized void close() throws IOException {
+        for (Segment segment : segments) {
+            segment.close();
+        }
+    }
+
+    private Segment newSegment() {
+        try {
+            Segment segment = Segment.create(directory.resolve(fileName(id, segments.size())), segmentBytes);
+            segments.add(segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create a tick segment for stock " + id, e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.darsh.series;
+
+import com.darsh.model.Candle;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Price history per stock, stored as compressed {@link Segment} files under {@code stocks.series.directory} and
+ * reloaded from there on startup.
+ */
+@Slf4j
+@Component
+public class TimeSeriesStore {
+
+    private static final Pattern SEGMENT_FILE = Pattern.compile("(\\d+)-(\\d+)\\.seg");
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int maxCandles;
+    private final Map<Integer, TickSeries> series = new ConcurrentHashMap<>();
+
+    public TimeSeriesStore(@Value("${stocks.series.directory:${java.io.tmpdir}/stocks-series}") Path directory,
+                           @Value("${stocks.series.segment-size:4MB}") DataSize segmentSize,
+                           @Value("${stocks.series.max-candles:10000}") int maxCandles) {
+        this.directory = directory;
+        this.segmentBytes = Math.toIntExact(segmentSize.toBytes());
+        this.maxCandles = maxCandles;
+    }
+
+    @PostConstruct
+    public void load() throws IOException {
+        Files.createDirectories(directory);
+        // Segments of each stock in sequence order
+        Map<Integer, TreeMap<Integer, Path>> files = new TreeMap<>();
+        try (Stream<Path> paths = Files.list(directory)) {
+            paths.forEach(path -> {
+                Matcher matcher = SEGMENT_FILE.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    files.computeIfAbsent(Integer.parseInt(matcher.group(1)), id -> new TreeMap<>())
+                            .put(Integer.parseInt(matcher.group(2)), path);
+                }
+            });
+        }
+        for (Map.Entry<Integer, TreeMap<Integer, Path>> entry : files.entrySet()) {
+            TickSeries ticks = seriesFor(entry.getKey());
+            for (Path path : entry.getValue().values()) {
+                ticks.load(path);
+            }
+            log.info("Loaded {} ticks ({} bytes) for stock {}", ticks.ticks(), ticks.sizeBytes(), entry.getKey());
+        }
+    }
+
+    public void append(int id, long timestamp, double price) {
+        seriesFor(id).append(timestamp, price);
+    }
+
+    /**
+     * OHLC candles of {@code interval} for the ticks in [from, to); buckets without ticks are left out.
+     */
+    public List<Candle> candles(int id, Instant from, Instant to, Duration interval) {
+        long intervalMillis = interval.toMillis();
+        if (intervalMillis < 1000 || intervalMillis % 1000 != 0) {
+            throw new IllegalArgumentException("Interval must be a whole number of seconds");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        if (Duration.between(from, to).toMillis() / intervalMillis > maxCandles) {
+            throw new IllegalArgumentException("More than " + maxCandles + " candles requested; use a larger interval");
+        }
+        TickSeries ticks = series.get(id);
+        return ticks == null ? List.of() : ticks.candles(from.toEpochMilli(), to.toEpochMilli(), intervalMillis);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        for (TickSeries ticks : series.values()) {
+            ticks.close();
+        }
+    }
+
+    private TickSeries seriesFor(int id) {
+        return series.computeIfAbsent(id, key -> new TickSeries(key, directory, segmentBytes));
+    }
+}
@@ -0,0 +1,93 @@
+package com.darsh.service;
+
+import com.darsh.model.MyStock;
+import com.darsh.price.PriceBook;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Stocks by id: names and descriptions are fixed reference data, prices are read live from the {@link PriceBook}.
+ * {@link #prices(int[])} and {@link #stocks(PriceBook.Snapshot)} split a read so a caller can compare the prices before
+ * building stocks from them, as the response cache does.
+ */
+@Service
+public class StockService {
+
+    // Reference data without prices, sorted by id
+    private final Map<Integer, MyStock> stocks = new TreeMap<>();
+    private final int[] ids;
+    private final PriceBook priceBook;
+
+    public StockService(PriceBook priceBook) {
+        this.priceBook = priceBook;
+        add(MyStock.builder().id(1).name("Google").price(200.00).description("Nothing").build());
+        add(MyStock.builder().id(2).name("Apple").price(300.00).description("Nothing").build());
+        ids = stocks.keySet().stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public Optional<MyStock> getStock(int id) {
+        MyStock stock = stocks.get(id);
+        return stock == null ? Optional.empty() : Optional.of(withPrice(stock, priceBook.price(id)));
+    }
+
+    /**
+     * All stocks with prices from one consistent snapshot of the book.
+     */
+    public List<MyStock> getAllStocks() {
+        return stocks(prices(ids));
+    }
+
+    /**
+     * Prices of the given stocks, read together from one consistent snapshot of the book.
+     */
+    public PriceBook.Snapshot prices(int[] ids) {
+        return priceBook.snapshot(ids);
+    }
+
+    /**
+     * The stocks of a snapshot from {@link #prices(int[])}, in its order, priced as the snapshot saw them.
+     */
+    public List<MyStock> stocks(PriceBook.Snapshot snapshot) {
+        List<MyStock> found = new ArrayList<>(snapshot.ids().length);
+        for (int i = 0; i < snapshot.ids().length; i++) {
+            MyStock stock = stocks.get(snapshot.ids()[i]);
+            if (stock != null) {
+                found.add(withPrice(stock, snapshot.prices()[i]));
+            }
+        }
+        return found;
+    }
+
+    public boolean exists(int id) {
+        return stocks.containsKey(id);
+    }
+
+    /**
+     * Ids of all stocks, ascending.
+     */
+    public int[] ids() {
+        return ids.clone();
+    }
+
+    public boolean updatePrice(int id, double price) {
+        return stocks.containsKey(id) && priceBook.update(id, price);
+    }
+
+    public long version() {
+        return priceBook.version();
+    }
+
+    private void add(MyStock stock) {
+        priceBook.register(stock.getId(), stock.getPrice());
+        stocks.put(stock.getId(), stock);
+    }
+
+    private static MyStock withPrice(MyStock stock, double price) {
+        return MyStock.builder().id(stock.getId()).name(stock.getName()).price(price).description(stock.getDescription()).build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.darsh.cache;
+
+import com.darsh.price.PriceBook;
+import com.darsh.service.StockService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StockResponseCacheTest {
+
+    private final StockService stockService = new StockService(new PriceBook(16));
+
+    @Test
+    void unchangedPricesReuseTheEncodedBody() {
+        StockResponseCache cache = cache(Duration.ZERO);
+        EncodedResponse all = cache.allStocks(StockFormat.JSON);
+        EncodedResponse google = cache.stock(1, StockFormat.JSON).orElseThrow();
+
+        assertSame(all, cache.allStocks(StockFormat.JSON));
+        assertSame(google, cache.stock(1, StockFormat.JSON).orElseThrow());
+
+        // A tick on Apple moves the book version on but leaves Google's body alone
+        stockService.updatePrice(2, 310.0);
+        assertSame(google, cache.stock(1, StockFormat.JSON).orElseThrow());
+        EncodedResponse changed = cache.allStocks(StockFormat.JSON);
+        assertNotSame(all, changed);
+        assertNotEquals(all.etag(), changed.etag());
+
+        // Setting the price back finds the same content, though the version kept moving
+        stockService.updatePrice(2, 300.0);
+        assertEquals(all.etag(), cache.allStocks(StockFormat.JSON).etag());
+    }
+
+    @Test
+    void formatsAreCachedSeparately() {
+        StockResponseCache cache = cache(Duration.ZERO);
+        EncodedResponse json = cache.stock(1, StockFormat.JSON).orElseThrow();
+        EncodedResponse cbor = cache.stock(1, StockFormat.CBOR).orElseThrow();
+
+        assertNotEquals(json.etag(), cbor.etag());
+        assertSame(cbor, cache.stock(1, StockFormat.CBOR).orElseThrow());
+        assertTrue(cache.stock(99, StockFormat.JSON).isEmpty());
+    }
+
+    @Test
+    void maxAgeServesTheEntryWithoutComparingPrices() {
+        StockResponseCache cache = cache(Duration.ofHours(1));
+        EncodedResponse all = cache.allStocks(StockFormat.JSON);
+        stockService.updatePrice(1, 250.0);
+        assertSame(all, cache.allStocks(StockFormat.JSON));
+
+        StockResponseCache current = cache(Duration.ZERO);
+        EncodedResponse before = current.allStocks(StockFormat.JSON);
+        stockService.updatePrice(1, 260.0);
+        assertNotSame(before, current.allStocks(StockFormat.JSON));
+    }
+
+    @Test
+    void concurrentReadersEndOnTheLatestPrices() throws InterruptedException {
+        StockResponseCache cache = cache(Duration.ZERO);
+        Thread[] readers = new Thread[4];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new Thread(() -> {
+                for (int n = 0; n < 2_000; n++) {
+                    cache.allStocks(StockFormat.JSON);
+                }
+            });
+            readers[i].start();
+        }
+        for (int n = 0; n < 2_000; n++) {
+            stockService.updatePrice(1 + n % 2, 100.0 + n);
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        String latest = cache(Duration.ZERO).allStocks(StockFormat.JSON).etag();
+        assertEquals(latest, cache.allStocks(StockFormat.JSON).etag());
+    }
+
+    private StockResponseCache cache(Duration maxAge) {
+        return new StockResponseCache(stockService, new ObjectMapper(), maxAge);
+    }
+}
@@ -0,0 +1,126 @@
+package com.darsh.price;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PriceBookTest {
+
+    private static final int IDS = 256;
+    private static final int UPDATES = 2_000_000;
+
+    @Test
+    void unknownIdsReadAsNaNAndCannotBeUpdated() {
+        PriceBook book = new PriceBook(8);
+        assertTrue(Double.isNaN(book.price(3)));
+        assertTrue(Double.isNaN(book.price(-1)));
+        assertTrue(Double.isNaN(book.price(8)));
+        assertFalse(book.update(3, 10.0));
+        assertEquals(0, book.version());
+        assertThrows(IllegalArgumentException.class, () -> book.register(8, 1.0));
+
+        book.register(3, 10.0);
+        assertTrue(book.update(3, 11.0));
+        assertEquals(11.0, book.price(3));
+        assertEquals(4, book.version());
+        PriceBook.Snapshot snapshot = book.snapshot(new int[]{3, 4, 99});
+        assertEquals(11.0, snapshot.prices()[0]);
+        assertTrue(Double.isNaN(snapshot.prices()[1]));
+        assertTrue(Double.isNaN(snapshot.prices()[2]));
+    }
+
+    /**
+     * The writer updates ids 0..IDS-1 round-robin, writing generation g as a double whose upper and lower 32 bits both
+     * hold g. A snapshot taken at version v has seen exactly v / 2 writes, so its prices are fully determined by v:
+     * any torn double, or a copy that mixes writes from before and after another, shows up as a mismatch.
+     */
+    @Test
+    void concurrentSnapshotsAreNeverTornOrMixed() throws InterruptedException {
+        PriceBook book = new PriceBook(IDS);
+        int[] ids = new int[IDS];
+        for (int id = 0; id < IDS; id++) {
+            ids[id] = id;
+            book.register(id, generation(0));
+        }
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            for (int update = 0; update < UPDATES; update++) {
+                book.update(update % IDS, generation(update / IDS + 1));
+            }
+            writing.set(false);
+        }, "price-book-writer");
+
+        List<Thread> readers = new ArrayList<>();
+        long[] snapshots = new long[2];
+        for (int r = 0; r < snapshots.length; r++) {
+            int reader = r;
+            readers.add(new Thread(() -> {
+                long lastVersion = -1;
+                while (writing.get() && failure.get() == null) {
+                    PriceBook.Snapshot snapshot = book.snapshot(ids);
+                    String problem = check(snapshot, lastVersion);
+                    if (problem == null) {
+                        int id = (int) (snapshot.version() % IDS);
+                        problem = checkSingle(id, book.price(id));
+                    }
+                    if (problem != null) {
+                        failure.compareAndSet(null, problem);
+                    }
+                    lastVersion = snapshot.version();
+                    snapshots[reader]++;
+                }
+            }, "price-book-reader-" + r));
+        }
+        readers.forEach(Thread::start);
+        writer.start();
+        writer.join();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertNull(failure.get());
+        assertTrue(snapshots[0] > 0 && snapshots[1] > 0, "readers ran during the writes");
+        assertEquals(2L * (IDS + UPDATES), book.version());
+    }
+
+    private static String check(PriceBook.Snapshot snapshot, long lastVersion) {
+        long version = snapshot.version();
+        if ((version & 1) != 0 || version < lastVersion) {
+            return "version " + version + " after " + lastVersion;
+        }
+        long updates = version / 2 - IDS;
+        for (int id = 0; id < IDS; id++) {
+            long expected = updates / IDS + (id < updates % IDS ? 1 : 0);
+            double price = snapshot.prices()[id];
+            if (Double.doubleToRawLongBits(price) != Double.doubleToRawLongBits(generation(expected))) {
+                return "id " + id + " at version " + version + " read " + describe(price) + ", expected generation "
+                        + expected;
+            }
+        }
+        return null;
+    }
+
+    private static String checkSingle(int id, double price) {
+        long bits = Double.doubleToRawLongBits(price);
+        return (bits >>> 32) == (bits & 0xFFFF_FFFFL) ? null : "id " + id + " read torn " + describe(price);
+    }
+
+    // Upper and lower halves both hold g; small g gives a tiny positive double, never NaN
+    private static double generation(long g) {
+        return Double.longBitsToDouble((g << 32) | g);
+    }
+
+    private static String describe(double price) {
+        long bits = Double.doubleToRawLongBits(price);
+        return "bits " + Long.toHexString(bits >>> 32) + ":" + Long.toHexString(bits & 0xFFFF_FFFFL);
+    }
+}
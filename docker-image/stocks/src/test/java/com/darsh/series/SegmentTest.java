@@ -0,0 +1,215 @@
+package com.darsh.series;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SegmentTest {
+
+    private static final long START = 1_700_000_000_000L;
+    private static final int SIZE = 1 << 20;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void repeatedValueAtSteadyRateCostsTwoBitsPerTick() throws IOException {
+        Segment segment = Segment.create(directory.resolve("repeat.seg"), SIZE);
+        // Delta of delta is 0 only from the third tick on; the second stores the first delta (1000 -> 4 + 12 bits)
+        segment.append(START, 101.25);
+        segment.append(START + 1000, 101.25);
+        for (int i = 2; i < 802; i++) {
+            segment.append(START + i * 1000L, 101.25);
+        }
+        long bits = 128 + (16 + 1) + 800 * 2;
+        assertEquals(Segment.HEADER_BYTES + (bits + 7) / 8, segment.sizeBytes());
+        assertRoundTrip(segment, ticks(802, i -> START + i * 1000L, i -> 101.25));
+    }
+
+    @Test
+    void reusesTheStoredWindowWhenTheXorFitsInsideIt() throws IOException {
+        long first = Double.doubleToRawLongBits(250.5);
+        // 8 meaningful bits at 20..27: leading 36 is capped at 31, so the window is 13 bits wide with 20 trailing
+        long second = first ^ (0xFFL << 20);
+        // 2 bits at 22..23 fit in that window: '10' and the 13 window bits instead of '11', 5, 6 and 11 bits
+        long third = second ^ (0b11L << 22);
+        Segment segment = Segment.create(directory.resolve("window.seg"), SIZE);
+        segment.append(START, Double.longBitsToDouble(first));
+        segment.append(START + 1000, Double.longBitsToDouble(second));
+        segment.append(START + 2000, Double.longBitsToDouble(third));
+
+        long bits = 128 + (16 + 2 + 5 + 6 + 13) + (1 + 2 + 13);
+        assertEquals(Segment.HEADER_BYTES + (bits + 7) / 8, segment.sizeBytes());
+        List<long[]> decoded = decode(segment.cursor());
+        assertEquals(first, decoded.get(0)[1]);
+        assertEquals(second, decoded.get(1)[1]);
+        assertEquals(third, decoded.get(2)[1]);
+    }
+
+    @Test
+    void capsLeadingZerosAtThirtyOne() throws IOException {
+        long base = Double.doubleToRawLongBits(99.0);
+        // XORs with 63, 40 and 32 leading zeros do not fit the 5 bit field uncapped; the last one uses all 64 bits
+        long[] values = {base, base ^ 1L, base ^ 1L ^ (1L << 23), base ^ (1L << 31) ^ 1L, 0};
+        values[4] = values[3] ^ (Long.MIN_VALUE | 1L);
+        Segment segment = Segment.create(directory.resolve("leading.seg"), SIZE);
+        for (int i = 0; i < values.length; i++) {
+            segment.append(START + i, Double.longBitsToDouble(values[i]));
+        }
+        List<long[]> decoded = decode(segment.cursor());
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], decoded.get(i)[1], "value " + i);
+        }
+    }
+
+    @Test
+    void roundTripsEveryTimestampEncoding() throws IOException {
+        // Deltas of delta in each range: 0, +-64, +-256, +-2048 and beyond, including repeated timestamps
+        long[] deltas = {1000, 1000, 1064, 1001, 1256, 1001, 3048, 1000, 0, 0, 90_000, 1, 1_000_000_000L, 7};
+        List<long[]> expected = new ArrayList<>();
+        Segment segment = Segment.create(directory.resolve("timestamps.seg"), SIZE);
+        long timestamp = START;
+        for (int i = 0; i <= deltas.length; i++) {
+            double price = 100 + i * 0.01;
+            segment.append(timestamp, price);
+            expected.add(new long[]{timestamp, Double.doubleToRawLongBits(price)});
+            if (i < deltas.length) {
+                timestamp += deltas[i];
+            }
+        }
+        assertTicks(expected, decode(segment.cursor()));
+    }
+
+    @Test
+    void cursorFromNeverSkipsATickAtOrAfterFrom() throws IOException {
+        Random random = new Random(7);
+        List<long[]> expected = new ArrayList<>();
+        Segment segment = Segment.create(directory.resolve("checkpoints.seg"), SIZE);
+        long timestamp = START;
+        int total = 3 * Segment.CHECKPOINT_TICKS + 1;
+        for (int i = 0; i < total; i++) {
+            // Runs of equal timestamps, some of them straddling a checkpoint
+            timestamp += random.nextInt(4) == 0 ? 0 : 1 + random.nextInt(500);
+            double price = 50 + random.nextInt(1000) / 100.0;
+            segment.append(timestamp, price);
+            expected.add(new long[]{timestamp, Double.doubleToRawLongBits(price)});
+        }
+        List<Long> froms = new ArrayList<>(List.of(START - 1, START, timestamp, timestamp + 1));
+        for (int checkpoint = 1; checkpoint <= 3; checkpoint++) {
+            long at = expected.get(checkpoint * Segment.CHECKPOINT_TICKS - 1)[0];
+            froms.addAll(List.of(at - 1, at, at + 1));
+        }
+        for (int i = 0; i < 50; i++) {
+            froms.add(expected.get(random.nextInt(total))[0]);
+        }
+        for (long from : froms) {
+            List<long[]> wanted = expected.stream().filter(tick -> tick[0] >= from).toList();
+            List<long[]> actual = decode(segment.cursorFrom(from)).stream().filter(tick -> tick[0] >= from).toList();
+            assertTicks(wanted, actual);
+        }
+    }
+
+    @Test
+    void reopenedSegmentContinuesWhereItStopped() throws IOException {
+        Path path = directory.resolve("reopen.seg");
+        Segment segment = Segment.create(path, SIZE);
+        List<long[]> expected = new ArrayList<>();
+        Random random = new Random(11);
+        long timestamp = START;
+        double price = 180.0;
+        for (int i = 0; i < Segment.CHECKPOINT_TICKS + 300; i++) {
+            timestamp += 200 + random.nextInt(50);
+            price += (random.nextInt(21) - 10) / 100.0;
+            segment.append(timestamp, price);
+            expected.add(new long[]{timestamp, Double.doubleToRawLongBits(price)});
+        }
+        long sizeBeforeClose = segment.sizeBytes();
+        segment.close();
+
+        Segment reopened = Segment.open(path);
+        assertEquals(expected.size(), reopened.count());
+        assertEquals(sizeBeforeClose, reopened.sizeBytes());
+        assertEquals(expected.get(0)[0], reopened.firstTimestamp());
+        assertEquals(timestamp, reopened.lastTimestamp());
+        // Appends continue the restored delta, value and window state, and cross the next checkpoint
+        for (int i = 0; i < Segment.CHECKPOINT_TICKS; i++) {
+            timestamp += 200 + random.nextInt(50);
+            price += (random.nextInt(21) - 10) / 100.0;
+            reopened.append(timestamp, price);
+            expected.add(new long[]{timestamp, Double.doubleToRawLongBits(price)});
+        }
+        assertTicks(expected, decode(reopened.cursor()));
+        long from = expected.get(Segment.CHECKPOINT_TICKS + 500)[0];
+        List<long[]> actual = decode(reopened.cursorFrom(from)).stream().filter(tick -> tick[0] >= from).toList();
+        assertEquals(expected.size() - (Segment.CHECKPOINT_TICKS + 500), actual.size());
+        reopened.close();
+    }
+
+    @Test
+    void reopensAnEmptySegment() throws IOException {
+        Path path = directory.resolve("empty.seg");
+        Segment.create(path, SIZE).close();
+        Segment reopened = Segment.open(path);
+        assertEquals(0, reopened.count());
+        reopened.append(START, 1.5);
+        reopened.append(START + 10, 1.75);
+        assertTicks(List.of(new long[]{START, Double.doubleToRawLongBits(1.5)},
+                new long[]{START + 10, Double.doubleToRawLongBits(1.75)}), decode(reopened.cursor()));
+        reopened.close();
+    }
+
+    @Test
+    void stopsAcceptingTicksBeforeTheMappingIsFull() throws IOException {
+        Segment segment = Segment.create(directory.resolve("full.seg"), 256);
+        Random random = new Random(3);
+        List<long[]> expected = new ArrayList<>();
+        long timestamp = START;
+        while (segment.hasRoom()) {
+            // Worst case ticks: large jumps in time and unrelated prices
+            timestamp += random.nextInt(1 << 30);
+            long valueBits = random.nextLong();
+            segment.append(timestamp, Double.longBitsToDouble(valueBits));
+            expected.add(new long[]{timestamp, valueBits});
+        }
+        assertTrue(segment.sizeBytes() <= 256);
+        assertTicks(expected, decode(segment.cursor()));
+    }
+
+    private static List<long[]> ticks(int count, IntToLongFunction timestamp, IntToDoubleFunction price) {
+        List<long[]> ticks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ticks.add(new long[]{timestamp.applyAsLong(i), Double.doubleToRawLongBits(price.applyAsDouble(i))});
+        }
+        return ticks;
+    }
+
+    private static void assertRoundTrip(Segment segment, List<long[]> expected) {
+        assertTicks(expected, decode(segment.cursor()));
+    }
+
+    private static List<long[]> decode(Segment.Cursor cursor) {
+        List<long[]> ticks = new ArrayList<>();
+        while (cursor.next()) {
+            ticks.add(new long[]{cursor.timestamp(), Double.doubleToRawLongBits(cursor.price())});
+        }
+        return ticks;
+    }
+
+    private static void assertTicks(List<long[]> expected, List<long[]> actual) {
+        assertEquals(expected.size(), actual.size(), "tick count");
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i)[0], actual.get(i)[0], "timestamp of tick " + i);
+            assertEquals(expected.get(i)[1], actual.get(i)[1], "value bits of tick " + i);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.darsh.series;
+
+import com.darsh.model.Candle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class TickSeriesTest {
+
+    private static final long MINUTE = 60_000;
+    private static final long HOUR = 60 * MINUTE;
+    // Not aligned to any minute, so the first and last buckets of most ranges are partial
+    private static final long START = 1_700_000_000_000L + 17_345;
+
+    @TempDir
+    Path directory;
+
+    private final List<long[]> ticks = new ArrayList<>();
+    private TickSeries series;
+
+    @BeforeEach
+    void recordTicks() {
+        // Small segments, so ranges also span several files
+        series = new TickSeries(1, directory, 8192);
+        Random random = new Random(42);
+        long timestamp = START;
+        double price = 120.0;
+        while (timestamp < START + 5 * HOUR) {
+            timestamp += 1 + random.nextInt(3000);
+            price = Math.max(0.01, price + (random.nextInt(41) - 20) / 100.0);
+            series.append(timestamp, price);
+            ticks.add(new long[]{timestamp, Double.doubleToRawLongBits(price)});
+        }
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        series.close();
+    }
+
+    @Test
+    void rollupCandlesCountOnlyTicksInsideAnUnalignedRange() {
+        Random random = new Random(9);
+        long[] intervals = {MINUTE, 5 * MINUTE, HOUR, 2 * HOUR};
+        for (int i = 0; i < 200; i++) {
+            long from = START + random.nextLong(5 * HOUR);
+            long to = from + 1 + random.nextLong(3 * HOUR);
+            long interval = intervals[random.nextInt(intervals.length)];
+            assertCandles(expected(from, to, interval), series.candles(from, to, interval),
+                    "[" + from + ", " + to + ") every " + interval);
+        }
+    }
+
+    @Test
+    void rangeInsideOneBucketIsBuiltFromRawTicks() {
+        long from = Math.floorDiv(START, HOUR) * HOUR + HOUR + 61_001;
+        long to = from + 90_000;
+        List<Candle> candles = series.candles(from, to, HOUR);
+        assertEquals(1, candles.size());
+        assertCandles(expected(from, to, HOUR), candles, "within one hour");
+    }
+
+    @Test
+    void alignedRangeMatchesRawTicks() {
+        long from = Math.floorDiv(START, HOUR) * HOUR + HOUR;
+        long to = from + 3 * HOUR;
+        assertCandles(expected(from, to, MINUTE), series.candles(from, to, MINUTE), "aligned minutes");
+        assertCandles(expected(from, to, HOUR), series.candles(from, to, HOUR), "aligned hours");
+    }
+
+    @Test
+    void intervalsThatAreNotWholeMinutesDecodeRawTicks() {
+        long from = START + 123_457;
+        long to = from + HOUR + 7;
+        assertCandles(expected(from, to, 45_000), series.candles(from, to, 45_000), "45 second candles");
+    }
+
+    @Test
+    void reloadedSeriesRebuildsTheRollups() throws IOException {
+        series.close();
+        TickSeries reloaded = new TickSeries(1, directory, 8192);
+        for (int sequence = 0; ; sequence++) {
+            Path path = directory.resolve(TickSeries.fileName(1, sequence));
+            if (!path.toFile().exists()) {
+                break;
+            }
+            reloaded.load(path);
+        }
+        series = reloaded;
+        assertEquals(ticks.size(), reloaded.ticks());
+        long from = START + 7 * MINUTE + 13;
+        long to = START + 4 * HOUR - 29;
+        assertCandles(expected(from, to, MINUTE), reloaded.candles(from, to, MINUTE), "reloaded minutes");
+        assertCandles(expected(from, to, HOUR), reloaded.candles(from, to, HOUR), "reloaded hours");
+    }
+
+    @Test
+    void rollupFeedsWholeBucketsStartingInTheRange() {
+        Rollup rollup = new Rollup(MINUTE);
+        rollup.add(10 * MINUTE + 5, 1.0);
+        rollup.add(11 * MINUTE + 5, 2.0);
+        rollup.add(11 * MINUTE + 50_000, 3.0);
+        rollup.add(12 * MINUTE, 4.0);
+        CandleAggregator candles = new CandleAggregator(HOUR);
+        // 11:00 is the only bucket start in [10:00.005, 12:00)
+        rollup.aggregate(10 * MINUTE + 5, 12 * MINUTE, candles);
+        assertFalse(candles.candles().isEmpty());
+        Candle candle = candles.candles().get(0);
+        assertEquals(2, candle.getTicks());
+        assertEquals(2.0, candle.getOpen());
+        assertEquals(3.0, candle.getClose());
+    }
+
+    // Brute force: every raw tick in [from, to), one at a time
+    private List<Candle> expected(long from, long to, long interval) {
+        CandleAggregator candles = new CandleAggregator(interval);
+        for (long[] tick : ticks) {
+            if (tick[0] >= from && tick[0] < to) {
+                double price = Double.longBitsToDouble(tick[1]);
+                candles.add(tick[0], price, price, price, price, 1);
+            }
+        }
+        return candles.candles();
+    }
+
+    private static void assertCandles(List<Candle> expected, List<Candle> actual, String range) {
+        assertEquals(expected.size(), actual.size(), "candles in " + range);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), actual.get(i), "candle " + i + " in " + range);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.graphql.benchmark;
+
+import com.graphql.config.CachingPreparsedDocumentProvider;
+import com.graphql.config.CaffeinePersistedQueryCache;
+import com.graphql.config.FieldCostCalculator;
+import com.graphql.config.QueryLimitsProperties;
+import com.graphql.entity.Cricketer;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.execution.instrumentation.Instrumentation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.graphql.execution.ConnectionTypeDefinitionConfigurer;
+import org.springframework.graphql.execution.GraphQlSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes typical requests against the real schema and instrumentation, with in-memory data fetchers, with and
+ * without {@link CachingPreparsedDocumentProvider}. The difference in time per operation is the parse and validate
+ * work the document cache saves on every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentCacheBenchmark {
+
+    public enum Documents {
+        PARSE_EVERY_REQUEST,
+        CACHED
+    }
+
+    public enum Request {
+        GET_CRICKETER("query Cricketer($id: ID!) { getCricketer(id: $id) { id name runs wickets } }",
+                Map.of("id", 2)),
+        LEADERBOARDS("query Leaderboards($limit: Int) {"
+                + " runs: leaderboard(stat: RUNS, limit: $limit) { id name runs }"
+                + " wickets: leaderboard(stat: WICKETS, limit: $limit) { id name wickets }"
+                + " allRounders: cricketersInRange(stat: RUNS, min: 5000, limit: $limit) { id name runs wickets } }",
+                Map.of("limit", 10));
+
+        private final String query;
+        private final Map<String, Object> variables;
+
+        Request(String query, Map<String, Object> variables) {
+            this.query = query;
+            this.variables = variables;
+        }
+    }
+
+    @Param
+    private Documents documents;
+
+    @Param
+    private Request request;
+
+    private GraphQL graphQl;
+
+    @Setup
+    public void setUp() {
+        Cricketer cricketer = Cricketer.builder().id(2).name("Rahul Dravid").runs(13288).wickets(1).version(0).build();
+        List<Cricketer> cricketers = List.of(cricketer);
+        QueryLimitsProperties limits = new QueryLimitsProperties();
+        List<Instrumentation> instrumentations = List.of(
+                new MaxQueryDepthInstrumentation(limits.getMaxDepth()),
+                new MaxQueryComplexityInstrumentation(limits.getMaxComplexity(), new FieldCostCalculator(limits)));
+
+        GraphQlSource.SchemaResourceBuilder builder = GraphQlSource.schemaResourceBuilder()
+                .schemaResources(new ClassPathResource("graphql/schema.graphqls"))
+                .configureTypeDefinitions(new ConnectionTypeDefinitionConfigurer())
+                .configureRuntimeWiring(wiring -> wiring.type("Query", type -> type
+                        .dataFetcher("getCricketer", environment -> cricketer)
+                        .dataFetcher("leaderboard", environment -> cricketers)
+                        .dataFetcher("cricketersInRange", environment -> cricketers)))
+                .instrumentation(instrumentations);
+        if (documents == Documents.CACHED) {
+            CaffeinePersistedQueryCache cache = new CaffeinePersistedQueryCache(1000);
+            builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(new CachingPreparsedDocumentProvider(cache)));
+        }
+        graphQl = builder.build().graphQl();
+    }
+
+    @Benchmark
+    public ExecutionResult execute() {
+        return graphQl.execute(ExecutionInput.newExecutionInput()
+                .query(request.query)
+                .variables(request.variables)
+                .build());
+    }
+}
@@ -0,0 +1,88 @@
+package com.graphql.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load against a running graphql service: each client sends its next request as soon as the
+ * previous one is answered. Reports throughput, errors and latency percentiles.
+ * <p>
+ * Every request asks for a random runs range, so results do not come from the query cache and each one costs a
+ * database round trip.
+ * <p>
+ * Arguments: clients (default 64), duration in seconds (default 30), URL (default http://localhost:8080/graphql).
+ */
+public class LoadTest {
+
+    private static final String QUERY = "{\"query\":\"query Range($min: Int) { cricketersInRange(stat: RUNS, min: $min, limit: 10) { id name runs } }\","
+            + "\"variables\":{\"min\":%d}}";
+
+    public static void main(String[] args) throws InterruptedException {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        URI uri = URI.create(args.length > 2 ? args[2] : "http://localhost:8080/graphql");
+
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        long[][] latencies = new long[clients][];
+        int[] counts = new int[clients];
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        CountDownLatch done = new CountDownLatch(clients);
+
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            Thread thread = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(client);
+                long[] samples = new long[1 << 16];
+                int n = 0;
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = HttpRequest.newBuilder(uri)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(QUERY.formatted(random.nextInt(20000))))
+                            .build();
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                        if (response.statusCode() != 200 || response.body().contains("\"errors\"")) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    if (n == samples.length) {
+                        samples = Arrays.copyOf(samples, n * 2);
+                    }
+                    samples[n++] = System.nanoTime() - start;
+                }
+                latencies[client] = samples;
+                counts[client] = n;
+                done.countDown();
+            });
+            thread.start();
+        }
+        done.await();
+
+        long[] all = new long[Arrays.stream(counts).sum()];
+        int position = 0;
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(latencies[c], 0, all, position, counts[c]);
+            position += counts[c];
+        }
+        Arrays.sort(all);
+        System.out.printf("clients=%d requests=%d errors=%d throughput=%.0f req/s%n",
+                clients, all.length, errors.get(), all.length / (double) seconds);
+        System.out.printf("latency ms: p50=%.2f p90=%.2f p99=%.2f max=%.2f%n",
+                percentile(all, 0.50), percentile(all, 0.90), percentile(all, 0.99), all[all.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1e6;
+    }
+}
@@ -0,0 +1,39 @@
+package com.graphql.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Single cricketers by id
+    public static final String CRICKETERS = "cricketers";
+    // Lists, pages, leaderboards and ranges; after a write commits, only the entries it can have changed are evicted
+    public static final String CRICKETER_QUERIES = "cricketerQueries";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${cricketer.cache.entities.maximum-size:10000}") long entitiesSize,
+                                     @Value("${cricketer.cache.queries.maximum-size:1000}") long queriesSize,
+                                     @Value("${cricketer.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(CRICKETERS, Caffeine.newBuilder()
+                .maximumSize(entitiesSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(CRICKETER_QUERIES, Caffeine.newBuilder()
+                .maximumSize(queriesSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,53 @@
+package com.graphql.config;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Serves parsed and validated documents from {@link CaffeinePersistedQueryCache} for every request, not only for
+ * Automatic Persisted Queries.
+ * <p>
+ * Plain requests are keyed by the SHA-256 of their query text, which is the same key APQ clients send, so a query
+ * that has been seen as text is already cached when a client later sends only its hash.
+ */
+public class CachingPreparsedDocumentProvider implements PreparsedDocumentProvider {
+
+    private static final String PERSISTED_QUERY_EXTENSION = "persistedQuery";
+
+    private final CaffeinePersistedQueryCache cache;
+    private final ApolloPersistedQuerySupport persistedQueries;
+
+    public CachingPreparsedDocumentProvider(CaffeinePersistedQueryCache cache) {
+        this.cache = cache;
+        this.persistedQueries = new ApolloPersistedQuerySupport(cache);
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
+                                                                      Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        if (executionInput.getExtensions().containsKey(PERSISTED_QUERY_EXTENSION)) {
+            return persistedQueries.getDocumentAsync(executionInput, parseAndValidateFunction);
+        }
+        PreparsedDocumentEntry entry = cache.getDocuments().get(sha256(executionInput.getQuery()),
+                hash -> parseAndValidateFunction.apply(executionInput));
+        return CompletableFuture.completedFuture(entry);
+    }
+
+    static String sha256(String query) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
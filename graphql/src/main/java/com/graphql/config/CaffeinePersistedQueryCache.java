@@ -0,0 +1,46 @@
+package com.graphql.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bounded cache of parsed and validated documents for Automatic Persisted Queries, keyed by the query's SHA-256 hash.
+ * <p>
+ * graphql-java's {@code InMemoryPersistedQueryCache} keeps only the query text, in an unbounded map, and parses it
+ * again on every request. This keeps the {@link PreparsedDocumentEntry} instead, so a hit skips parsing and validation.
+ */
+public class CaffeinePersistedQueryCache implements PersistedQueryCache {
+
+    private final Cache<Object, PreparsedDocumentEntry> documents;
+
+    public CaffeinePersistedQueryCache(long maximumSize) {
+        this.documents = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getPersistedQueryDocumentAsync(Object persistedQueryId,
+                                                                                    ExecutionInput executionInput,
+                                                                                    PersistedQueryCacheMiss onCacheMiss) {
+        PreparsedDocumentEntry entry = documents.get(persistedQueryId, id -> {
+            String query = executionInput.getQuery();
+            // A hash-only request carries the marker instead of a query; a null query makes the miss handler reply
+            // PersistedQueryNotFound, which tells the client to send the hash again together with the full query.
+            return onCacheMiss.apply(PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query) ? null : query);
+        });
+        return CompletableFuture.completedFuture(entry);
+    }
+
+    public Cache<Object, PreparsedDocumentEntry> getDocuments() {
+        return documents;
+    }
+}
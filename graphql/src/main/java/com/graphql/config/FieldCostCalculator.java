@@ -0,0 +1,41 @@
+package com.graphql.config;
+
+import graphql.analysis.FieldComplexityCalculator;
+import graphql.analysis.FieldComplexityEnvironment;
+import graphql.schema.GraphQLFieldDefinition;
+
+import java.util.List;
+
+/**
+ * Cost of a field is its configured cost plus the cost of its selection times the number of items it can return.
+ * List fields are sized by their {@code first} or {@code limit} argument, so asking for 100 leaderboard rows
+ * costs ten times as much as asking for 10.
+ */
+public class FieldCostCalculator implements FieldComplexityCalculator {
+
+    private static final List<String> PAGE_SIZE_ARGUMENTS = List.of("first", "limit");
+
+    private final QueryLimitsProperties limits;
+
+    public FieldCostCalculator(QueryLimitsProperties limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    public int calculate(FieldComplexityEnvironment environment, int childComplexity) {
+        String coordinate = environment.getParentType().getName() + "." + environment.getField().getName();
+        int cost = limits.getFieldCosts().getOrDefault(coordinate, limits.getDefaultFieldCost());
+        return cost + childComplexity * pageSize(environment);
+    }
+
+    private int pageSize(FieldComplexityEnvironment environment) {
+        GraphQLFieldDefinition definition = environment.getFieldDefinition();
+        for (String argument : PAGE_SIZE_ARGUMENTS) {
+            if (definition.getArgument(argument) != null) {
+                Object value = environment.getArguments().get(argument);
+                return value instanceof Integer size ? Math.max(size, 1) : limits.getDefaultPageSize();
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,45 @@
+package com.graphql.config;
+
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(QueryLimitsProperties.class)
+public class GraphQlConfig {
+
+    // Both limits are checked before the operation executes, including for documents served from the cache
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation(QueryLimitsProperties limits) {
+        return new MaxQueryDepthInstrumentation(limits.getMaxDepth());
+    }
+
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation(QueryLimitsProperties limits) {
+        return new MaxQueryComplexityInstrumentation(limits.getMaxComplexity(), new FieldCostCalculator(limits));
+    }
+
+    @Bean
+    public CaffeinePersistedQueryCache documentCache(@Value("${graphql.document-cache.maximum-size:1000}") long maximumSize) {
+        return new CaffeinePersistedQueryCache(maximumSize);
+    }
+
+    // Parsed documents for plain and persisted queries alike
+    @Bean
+    public GraphQlSourceBuilderCustomizer documentCaching(CaffeinePersistedQueryCache documentCache) {
+        return builder -> builder.configureGraphQl(graphQl ->
+                graphQl.preparsedDocumentProvider(new CachingPreparsedDocumentProvider(documentCache)));
+    }
+
+    // cache.gets{cache=graphqlDocuments,result=hit|miss}, cache.size and cache.evictions
+    @Bean
+    public MeterBinder documentCacheMetrics(CaffeinePersistedQueryCache documentCache) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, documentCache.getDocuments(), "graphqlDocuments");
+    }
+}
@@ -0,0 +1,41 @@
+package com.graphql.config;
+
+import graphql.schema.GraphQLNamedType;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.observation.DataFetcherObservationContext;
+import org.springframework.graphql.observation.DefaultDataFetcherObservationConvention;
+
+import java.time.Duration;
+
+/**
+ * Spring for GraphQL already times every request ({@code graphql.request}, tagged with the operation type) and
+ * resolver ({@code graphql.datafetcher}, tagged with the field name). The convention below adds the resolver's parent
+ * type, so each {@code Type.field} gets its own timer.
+ */
+@Configuration
+public class InstrumentationConfig {
+
+    @Bean
+    public DefaultDataFetcherObservationConvention parentTypeObservationConvention() {
+        return new DefaultDataFetcherObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(DataFetcherObservationContext context) {
+                String parentType = context.getEnvironment().getParentType() instanceof GraphQLNamedType named
+                        ? named.getName() : "unknown";
+                return super.getLowCardinalityKeyValues(context).and("graphql.parent.type", parentType);
+            }
+        };
+    }
+
+    @Bean
+    public RequestStatisticsInstrumentation requestStatisticsInstrumentation(
+            MeterRegistry meterRegistry,
+            @Value("${graphql.instrumentation.slow-operation-threshold:500ms}") Duration slowOperationThreshold,
+            @Value("${graphql.instrumentation.repeated-statement-threshold:10}") int repeatedStatementThreshold) {
+        return new RequestStatisticsInstrumentation(meterRegistry, slowOperationThreshold, repeatedStatementThreshold);
+    }
+}
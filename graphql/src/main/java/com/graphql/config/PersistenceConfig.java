@@ -0,0 +1,18 @@
+package com.graphql.config;
+
+import com.graphql.repo.CricketerRepo;
+import com.graphql.repo.ReactiveCricketerRepo;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Cricketer is a JPA entity, so JPA would also claim the reactive repository; it is excluded here and left to
+ * {@link ReactivePersistenceConfig}. The DataSource and transaction manager are Boot's.
+ */
+@Configuration
+@EnableJpaRepositories(basePackageClasses = CricketerRepo.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = ReactiveCricketerRepo.class))
+public class PersistenceConfig {
+}
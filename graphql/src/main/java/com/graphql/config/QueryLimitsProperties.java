@@ -0,0 +1,21 @@
+package com.graphql.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "graphql.limits")
+public class QueryLimitsProperties {
+    // Deepest selection allowed, counting from the operation's root fields
+    private int maxDepth = 10;
+    // Highest total cost allowed, as computed by FieldCostCalculator
+    private int maxComplexity = 1000;
+    private int defaultFieldCost = 1;
+    // Page size assumed for first/limit arguments the query leaves out
+    private int defaultPageSize = 20;
+    // Costs by schema coordinate, e.g. field-costs[Query.getCricketers]=500
+    private Map<String, Integer> fieldCosts = new HashMap<>();
+}
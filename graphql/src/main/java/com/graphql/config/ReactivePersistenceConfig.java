@@ -0,0 +1,60 @@
+package com.graphql.config;
+
+import com.graphql.repo.ReactiveCricketerRepo;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+
+/**
+ * The R2DBC read path, created only when {@code cricketer.data-access=r2dbc}.
+ * <p>
+ * Boot's R2dbcAutoConfiguration is excluded: once a ConnectionFactory bean exists Boot stops creating the JDBC
+ * DataSource, which JPA, Flyway and the mutations still need. The pool is built here from {@code spring.r2dbc.*}
+ * instead and handed only to the reactive repository, so it never becomes a bean.
+ */
+@Configuration
+@ConditionalOnProperty(name = "cricketer.data-access", havingValue = "r2dbc")
+@EnableConfigurationProperties(R2dbcProperties.class)
+@EnableR2dbcRepositories(basePackageClasses = ReactiveCricketerRepo.class,
+        entityOperationsRef = "reactiveCricketerOperations")
+public class ReactivePersistenceConfig {
+
+    private ConnectionPool pool;
+
+    @Bean
+    public R2dbcEntityTemplate reactiveCricketerOperations(R2dbcProperties properties) {
+        ConnectionFactory connectionFactory = ConnectionFactoryBuilder.withUrl(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+        R2dbcProperties.Pool poolProperties = properties.getPool();
+        ConnectionPoolConfiguration.Builder configuration = ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(poolProperties.getInitialSize())
+                .maxSize(poolProperties.getMaxSize())
+                .maxIdleTime(poolProperties.getMaxIdleTime());
+        if (poolProperties.getMaxAcquireTime() != null) {
+            configuration.maxAcquireTime(poolProperties.getMaxAcquireTime());
+        }
+        if (poolProperties.getValidationQuery() != null) {
+            configuration.validationQuery(poolProperties.getValidationQuery());
+        }
+        pool = new ConnectionPool(configuration.build());
+        return new R2dbcEntityTemplate(pool);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.graphql.config;
+
+import graphql.execution.instrumentation.InstrumentationState;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL statements issued while one GraphQL request executes, counted by statement text.
+ * <p>
+ * The instance is bound to the current thread while one of the request's resolvers runs;
+ * {@link StatementCountingInspector} records into whatever is bound. Blocking JPA resolvers issue their statements
+ * during that call, so they are attributed to the request. Work a resolver hands to another thread is not counted.
+ */
+public class RequestStatements implements InstrumentationState {
+
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> counts = new HashMap<>();
+    private int total;
+    private volatile String operation;
+    private volatile String operationType;
+
+    /**
+     * Binds {@code statements} to the current thread and returns what was bound before, for {@link #restore}.
+     */
+    static RequestStatements bind(RequestStatements statements) {
+        RequestStatements previous = CURRENT.get();
+        CURRENT.set(statements);
+        return previous;
+    }
+
+    static void restore(RequestStatements previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    static RequestStatements current() {
+        return CURRENT.get();
+    }
+
+    String operation() {
+        return operation;
+    }
+
+    String operationType() {
+        return operationType;
+    }
+
+    void setOperation(String operation, String operationType) {
+        this.operation = operation;
+        this.operationType = operationType;
+    }
+
+    synchronized void record(String sql) {
+        counts.merge(sql, 1, Integer::sum);
+        total++;
+    }
+
+    synchronized int total() {
+        return total;
+    }
+
+    synchronized Map<String, Integer> counts() {
+        return new HashMap<>(counts);
+    }
+}
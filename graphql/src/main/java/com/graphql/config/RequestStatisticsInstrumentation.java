@@ -0,0 +1,115 @@
+package com.graphql.config;
+
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.language.OperationDefinition;
+import graphql.schema.DataFetcher;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Per-request database statistics for GraphQL operations.
+ * <ul>
+ *     <li>{@code graphql.request.statements}: SQL statements per request, as a histogram tagged with the operation
+ *     type only; operation names come from clients, so they go to the log lines, never into metric tags.</li>
+ *     <li>A warning when one statement runs {@code repeatedStatementThreshold} times or more in a request, the usual
+ *     sign of an N+1 query.</li>
+ *     <li>A warning for operations slower than {@code slowOperationThreshold}, with the names of their variables; the
+ *     values are logged only at DEBUG.</li>
+ * </ul>
+ */
+public class RequestStatisticsInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestStatisticsInstrumentation.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Duration slowOperationThreshold;
+    private final int repeatedStatementThreshold;
+
+    public RequestStatisticsInstrumentation(MeterRegistry meterRegistry, Duration slowOperationThreshold,
+                                            int repeatedStatementThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowOperationThreshold = slowOperationThreshold;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    @Override
+    public CompletableFuture<InstrumentationState> createStateAsync(InstrumentationCreateStateParameters parameters) {
+        return CompletableFuture.completedFuture(new RequestStatements());
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecution(InstrumentationExecutionParameters parameters,
+                                                                  InstrumentationState state) {
+        RequestStatements statements = (RequestStatements) state;
+        long start = System.nanoTime();
+        return SimpleInstrumentationContext.whenCompleted((result, throwable) ->
+                report(parameters, statements, Duration.ofNanos(System.nanoTime() - start)));
+    }
+
+    @Override
+    public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher, InstrumentationFieldFetchParameters parameters,
+                                                InstrumentationState state) {
+        if (parameters.isTrivialDataFetcher()) {
+            return dataFetcher;
+        }
+        RequestStatements statements = (RequestStatements) state;
+        // Bound only while the resolver runs, and cleared on the same thread, so a pooled thread never keeps it
+        return environment -> {
+            RequestStatements previous = RequestStatements.bind(statements);
+            try {
+                return dataFetcher.get(environment);
+            } finally {
+                RequestStatements.restore(previous);
+            }
+        };
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+                                                                         InstrumentationState state) {
+        // Name from the parsed document, or the operation type for anonymous operations
+        OperationDefinition definition = parameters.getExecutionContext().getOperationDefinition();
+        String type = definition.getOperation().name().toLowerCase();
+        ((RequestStatements) state).setOperation(definition.getName() != null ? definition.getName() : type, type);
+        return SimpleInstrumentationContext.noOp();
+    }
+
+    private void report(InstrumentationExecutionParameters parameters, RequestStatements statements, Duration elapsed) {
+        // Requests that fail to parse or validate never reach an operation
+        String operation = statements.operation() == null ? "invalid" : statements.operation();
+        String operationType = statements.operationType() == null ? "invalid" : statements.operationType();
+        DistributionSummary.builder("graphql.request.statements")
+                .description("SQL statements issued per GraphQL request")
+                .tag("graphql.operation.type", operationType)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statements.total());
+
+        for (Map.Entry<String, Integer> entry : statements.counts().entrySet()) {
+            if (entry.getValue() >= repeatedStatementThreshold) {
+                log.warn("Possible N+1 in operation {}: statement ran {} times: {}",
+                        operation, entry.getValue(), entry.getKey());
+            }
+        }
+        if (elapsed.compareTo(slowOperationThreshold) > 0) {
+            // Variable values are client payloads and may be personal data: names only, values only at DEBUG
+            log.warn("Slow GraphQL operation {} took {} ms with {} SQL statements, variables {}",
+                    operation, elapsed.toMillis(), statements.total(), parameters.getVariables().keySet());
+            log.debug("Variables of slow GraphQL operation {}: {}", operation, parameters.getVariables());
+        }
+    }
+}
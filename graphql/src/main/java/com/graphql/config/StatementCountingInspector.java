@@ -0,0 +1,16 @@
+package com.graphql.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Registered through hibernate.session_factory.statement_inspector; sees every SQL statement Hibernate prepares
+public class StatementCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestStatements statements = RequestStatements.current();
+        if (statements != null) {
+            statements.record(sql);
+        }
+        return sql;
+    }
+}
@@ -1,12 +1,21 @@
 package com.graphql.controller;
 
 import com.graphql.entity.Cricketer;
+import com.graphql.model.CricketerFilter;
+import com.graphql.model.CricketerInput;
+import com.graphql.model.CricketerOrder;
 import com.graphql.service.CricketerService;
+import com.graphql.service.CricketerUpdatePublisher;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.graphql.data.query.ScrollSubrange;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
 import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 
@@ -14,20 +23,31 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CricketerController {
 
-    private final CricketerService cricketerService;
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
 
-    @QueryMapping
-    public List<Cricketer> getCricketers() {
-        return cricketerService.getAllCricketers();
+    // Page sizes come straight from the client: reject anything below 1 before it reaches the query, cap the rest
+    static int pageSize(String argument, int requested) {
+        if (requested < 1) {
+            throw new IllegalArgumentException(argument + " must be at least 1, got " + requested);
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
     }
 
+    private final CricketerService cricketerService;
+    private final CricketerUpdatePublisher cricketerUpdatePublisher;
+
     @QueryMapping
-    public Cricketer getCricketer(@Argument int id) {
-        return cricketerService.getCricketer(id);
+    public Window<Cricketer> cricketersConnection(ScrollSubrange subrange, @Argument Integer first,
+                                                  @Argument CricketerFilter filter, @Argument CricketerOrder orderBy) {
+        // ScrollSubrange silently drops a negative first, so check the raw argument
+        int limit = pageSize("first", first != null ? first : DEFAULT_PAGE_SIZE);
+        ScrollPosition position = subrange.position().orElse(ScrollPosition.keyset());
+        return cricketerService.getCricketers(position, limit, filter, orderBy);
     }
 
     @MutationMapping
-    public Cricketer createCricketer(@Argument String name, @Argument String runs, @Argument String wickets) {
+    public Cricketer createCricketer(@Argument String name, @Argument Integer runs, @Argument Integer wickets) {
         return cricketerService.createCricketer(name, runs, wickets);
     }
 
@@ -37,8 +57,24 @@ public class CricketerController {
     }
 
     @MutationMapping
-    public Cricketer updateCricketer(@Argument int id, @Argument String name, @Argument String runs, @Argument String wickets) {
-        return cricketerService.updateCricketer(id, name, runs, wickets);
+    public Cricketer updateCricketer(@Argument int id, @Argument String name, @Argument Integer runs, @Argument Integer wickets,
+                                     @Argument int version) {
+        return cricketerService.updateCricketer(id, name, runs, wickets, version);
+    }
+
+    @MutationMapping
+    public List<Cricketer> createCricketers(@Argument List<CricketerInput> cricketers) {
+        return cricketerService.createCricketers(cricketers);
+    }
+
+    @MutationMapping
+    public List<Cricketer> upsertCricketers(@Argument List<CricketerInput> cricketers) {
+        return cricketerService.upsertCricketers(cricketers);
+    }
+
+    @SubscriptionMapping
+    public Flux<Cricketer> cricketerUpdated(@Argument int id) {
+        return cricketerUpdatePublisher.updates(id);
     }
 
 }
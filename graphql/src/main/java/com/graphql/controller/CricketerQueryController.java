@@ -0,0 +1,44 @@
+package com.graphql.controller;
+
+import com.graphql.entity.Cricketer;
+import com.graphql.model.CricketerStat;
+import com.graphql.service.CricketerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.List;
+
+import static com.graphql.controller.CricketerController.pageSize;
+
+// Blocking JPA read queries, the default; ReactiveCricketerQueryController serves them when cricketer.data-access=r2dbc
+@Controller
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "cricketer.data-access", havingValue = "jpa", matchIfMissing = true)
+public class CricketerQueryController {
+
+    private final CricketerService cricketerService;
+
+    @QueryMapping
+    public List<Cricketer> getCricketers() {
+        return cricketerService.getAllCricketers();
+    }
+
+    @QueryMapping
+    public Cricketer getCricketer(@Argument int id) {
+        return cricketerService.getCricketer(id);
+    }
+
+    @QueryMapping
+    public List<Cricketer> leaderboard(@Argument CricketerStat stat, @Argument int limit) {
+        return cricketerService.getLeaderboard(stat, pageSize("limit", limit));
+    }
+
+    @QueryMapping
+    public List<Cricketer> cricketersInRange(@Argument CricketerStat stat, @Argument Integer min, @Argument Integer max,
+                                             @Argument int limit) {
+        return cricketerService.getCricketersInRange(stat, min, max, pageSize("limit", limit));
+    }
+}
@@ -0,0 +1,34 @@
+package com.graphql.controller;
+
+import graphql.ErrorClassification;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.schema.DataFetchingEnvironment;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.graphql.data.method.annotation.GraphQlExceptionHandler;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+
+// Errors the client can act on get their own classification and the reason, rather than an INTERNAL_ERROR
+@ControllerAdvice
+public class GraphQlErrorAdvice {
+
+    static final ErrorClassification CONFLICT = ErrorClassification.errorClassification("CONFLICT");
+
+    @GraphQlExceptionHandler
+    public GraphQLError invalidArgument(IllegalArgumentException ex, DataFetchingEnvironment environment) {
+        return GraphqlErrorBuilder.newError(environment)
+                .errorType(ErrorType.BAD_REQUEST)
+                .message(ex.getMessage())
+                .build();
+    }
+
+    // A stale version means someone else wrote the row first: the client should re-read it and retry
+    @GraphQlExceptionHandler
+    public GraphQLError conflict(OptimisticLockingFailureException ex, DataFetchingEnvironment environment) {
+        return GraphqlErrorBuilder.newError(environment)
+                .errorType(CONFLICT)
+                .message(ex.getMessage())
+                .build();
+    }
+}
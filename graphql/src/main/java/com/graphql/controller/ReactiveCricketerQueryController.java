@@ -0,0 +1,44 @@
+package com.graphql.controller;
+
+import com.graphql.entity.Cricketer;
+import com.graphql.model.CricketerStat;
+import com.graphql.service.ReactiveCricketerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.graphql.controller.CricketerController.pageSize;
+
+// Non-blocking R2DBC read queries: the servlet thread is released while the database round trip is in flight
+@Controller
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "cricketer.data-access", havingValue = "r2dbc")
+public class ReactiveCricketerQueryController {
+
+    private final ReactiveCricketerService reactiveCricketerService;
+
+    @QueryMapping
+    public Flux<Cricketer> getCricketers() {
+        return reactiveCricketerService.getAllCricketers();
+    }
+
+    @QueryMapping
+    public Mono<Cricketer> getCricketer(@Argument int id) {
+        return reactiveCricketerService.getCricketer(id);
+    }
+
+    @QueryMapping
+    public Flux<Cricketer> leaderboard(@Argument CricketerStat stat, @Argument int limit) {
+        return reactiveCricketerService.getLeaderboard(stat, pageSize("limit", limit));
+    }
+
+    @QueryMapping
+    public Flux<Cricketer> cricketersInRange(@Argument CricketerStat stat, @Argument Integer min, @Argument Integer max,
+                                             @Argument int limit) {
+        return reactiveCricketerService.getCricketersInRange(stat, min, max, pageSize("limit", limit));
+    }
+}
@@ -4,12 +4,20 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_cricketer_runs", columnList = "runs"),
+        @Index(name = "idx_cricketer_wickets", columnList = "wickets")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,9 +25,15 @@ import lombok.NoArgsConstructor;
 public class Cricketer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Spring Data R2DBC does not read JPA's @Id
+    @org.springframework.data.annotation.Id
+    // Pooled sequence: ids are allocated 50 at a time, which lets Hibernate batch inserts (IDENTITY cannot)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cricketer_seq")
+    @SequenceGenerator(name = "cricketer_seq", sequenceName = "cricketer_seq", allocationSize = 50)
     private int id;
     private String name;
-    private String runs;
-    private String wickets;
+    private Integer runs;
+    private Integer wickets;
+    @Version
+    private Integer version;
 }
@@ -0,0 +1,18 @@
+package com.graphql.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CricketerFilter {
+    private String nameContains;
+    private Integer minRuns;
+    private Integer maxRuns;
+    private Integer minWickets;
+    private Integer maxWickets;
+}
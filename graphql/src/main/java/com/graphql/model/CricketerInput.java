@@ -0,0 +1,18 @@
+package com.graphql.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CricketerInput {
+    // Only used by upserts: an existing id is updated, anything else is inserted
+    private Integer id;
+    private String name;
+    private Integer runs;
+    private Integer wickets;
+}
@@ -0,0 +1,6 @@
+package com.graphql.model;
+
+public enum CricketerOrder {
+    ID_ASC,
+    ID_DESC
+}
@@ -0,0 +1,6 @@
+package com.graphql.model;
+
+public enum CricketerStat {
+    RUNS,
+    WICKETS
+}
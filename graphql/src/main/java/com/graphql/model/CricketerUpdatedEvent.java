@@ -0,0 +1,12 @@
+package com.graphql.model;
+
+import com.graphql.entity.Cricketer;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Published by CricketerServiceImpl for every updated row, delivered to subscribers once the transaction commits
+@Data
+@AllArgsConstructor
+public class CricketerUpdatedEvent {
+    private Cricketer cricketer;
+}
@@ -1,9 +1,23 @@
 package com.graphql.repo;
 
 import com.graphql.entity.Cricketer;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface CricketerRepo extends JpaRepository<Cricketer, Integer> {
+public interface CricketerRepo extends JpaRepository<Cricketer, Integer>, JpaSpecificationExecutor<Cricketer> {
+
+    // Each of these is served by an index scan on idx_cricketer_runs / idx_cricketer_wickets.
+
+    List<Cricketer> findByRunsNotNullOrderByRunsDesc(Limit limit);
+
+    List<Cricketer> findByWicketsNotNullOrderByWicketsDesc(Limit limit);
+
+    List<Cricketer> findByRunsBetweenOrderByRunsDesc(int min, int max, Limit limit);
+
+    List<Cricketer> findByWicketsBetweenOrderByWicketsDesc(int min, int max, Limit limit);
 }
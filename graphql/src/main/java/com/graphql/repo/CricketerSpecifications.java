@@ -0,0 +1,44 @@
+package com.graphql.repo;
+
+import com.graphql.entity.Cricketer;
+import com.graphql.model.CricketerFilter;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class CricketerSpecifications {
+
+    private CricketerSpecifications() {
+    }
+
+    public static Specification<Cricketer> matching(CricketerFilter filter) {
+        return (root, query, cb) -> {
+            if (filter == null) {
+                return cb.and();
+            }
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getNameContains() != null && !filter.getNameContains().isBlank()) {
+                predicates.add(cb.like(cb.lower(root.get("name")),
+                        "%" + filter.getNameContains().toLowerCase() + "%"));
+            }
+            Expression<Integer> runs = root.get("runs");
+            if (filter.getMinRuns() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(runs, filter.getMinRuns()));
+            }
+            if (filter.getMaxRuns() != null) {
+                predicates.add(cb.lessThanOrEqualTo(runs, filter.getMaxRuns()));
+            }
+            Expression<Integer> wickets = root.get("wickets");
+            if (filter.getMinWickets() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(wickets, filter.getMinWickets()));
+            }
+            if (filter.getMaxWickets() != null) {
+                predicates.add(cb.lessThanOrEqualTo(wickets, filter.getMaxWickets()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
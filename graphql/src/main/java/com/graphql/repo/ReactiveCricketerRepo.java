@@ -0,0 +1,21 @@
+package com.graphql.repo;
+
+import com.graphql.entity.Cricketer;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+// Non-blocking twin of CricketerRepo's read queries; only ReactivePersistenceConfig, active when
+// cricketer.data-access=r2dbc, enables R2DBC repositories, so in jpa mode this interface has no bean
+@Repository
+public interface ReactiveCricketerRepo extends R2dbcRepository<Cricketer, Integer> {
+
+    Flux<Cricketer> findByRunsNotNullOrderByRunsDesc(Limit limit);
+
+    Flux<Cricketer> findByWicketsNotNullOrderByWicketsDesc(Limit limit);
+
+    Flux<Cricketer> findByRunsBetweenOrderByRunsDesc(int min, int max, Limit limit);
+
+    Flux<Cricketer> findByWicketsBetweenOrderByWicketsDesc(int min, int max, Limit limit);
+}
@@ -1,6 +1,12 @@
 package com.graphql.service;
 
 import com.graphql.entity.Cricketer;
+import com.graphql.model.CricketerFilter;
+import com.graphql.model.CricketerInput;
+import com.graphql.model.CricketerOrder;
+import com.graphql.model.CricketerStat;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 
 import java.util.List;
 
@@ -10,9 +16,19 @@ public interface CricketerService {
 
     Cricketer getCricketer(int id);
 
-    Cricketer createCricketer(String name, String runs, String wickets);
+    Cricketer createCricketer(String name, Integer runs, Integer wickets);
 
     List<Cricketer> getAllCricketers();
 
-    Cricketer updateCricketer(int id, String name, String runs, String wickets);
+    List<Cricketer> getLeaderboard(CricketerStat stat, int limit);
+
+    List<Cricketer> getCricketersInRange(CricketerStat stat, Integer min, Integer max, int limit);
+
+    Window<Cricketer> getCricketers(ScrollPosition position, int limit, CricketerFilter filter, CricketerOrder orderBy);
+
+    Cricketer updateCricketer(int id, String name, Integer runs, Integer wickets, int version);
+
+    List<Cricketer> createCricketers(List<CricketerInput> cricketers);
+
+    List<Cricketer> upsertCricketers(List<CricketerInput> cricketers);
 }
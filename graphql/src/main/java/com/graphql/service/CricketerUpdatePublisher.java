@@ -0,0 +1,33 @@
+package com.graphql.service;
+
+import com.graphql.entity.Cricketer;
+import com.graphql.model.CricketerUpdatedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Fans committed cricketer updates out to {@code cricketerUpdated} subscriptions.
+ * <p>
+ * The sink is best-effort, so a subscriber that cannot keep up never blocks the writer or the other subscribers.
+ * Each subscription conflates: while its client is behind, only the latest update is kept and newer updates
+ * replace older ones, so a slow client gets the current stats rather than a growing queue.
+ */
+@Component
+public class CricketerUpdatePublisher {
+
+    private final Sinks.Many<Cricketer> updates = Sinks.many().multicast().directBestEffort();
+
+    @TransactionalEventListener
+    public synchronized void onCricketerUpdated(CricketerUpdatedEvent event) {
+        // Emits must not overlap, hence synchronized; with no subscribers the update is simply dropped
+        updates.tryEmitNext(event.getCricketer());
+    }
+
+    public Flux<Cricketer> updates(int id) {
+        return updates.asFlux()
+                .filter(cricketer -> cricketer.getId() == id)
+                .onBackpressureLatest();
+    }
+}
@@ -0,0 +1,17 @@
+package com.graphql.service;
+
+import com.graphql.entity.Cricketer;
+import com.graphql.model.CricketerStat;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveCricketerService {
+
+    Mono<Cricketer> getCricketer(int id);
+
+    Flux<Cricketer> getAllCricketers();
+
+    Flux<Cricketer> getLeaderboard(CricketerStat stat, int limit);
+
+    Flux<Cricketer> getCricketersInRange(CricketerStat stat, Integer min, Integer max, int limit);
+}
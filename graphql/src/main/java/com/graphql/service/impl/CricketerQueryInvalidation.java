@@ -0,0 +1,131 @@
+package com.graphql.service.impl;
+
+import com.graphql.entity.Cricketer;
+import com.graphql.model.CricketerFilter;
+import com.graphql.model.CricketerStat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Which {@code cricketerQueries} entries a committed write has made stale, so that a write evicts those entries
+ * rather than the whole cache. An entry is stale when
+ * <ul>
+ *     <li>it holds one of the written rows, whose values have changed or which is gone, or</li>
+ *     <li>the write could add a row to it: an insert can land in {@code 'all'} and in any page, a new or changed stat
+ *     can enter a range of that stat or reach the bottom of a leaderboard, and a changed field can bring a row into
+ *     a page whose filter tests that field.</li>
+ * </ul>
+ * Keys are the ones CricketerServiceImpl's {@code @Cacheable} methods build; an unknown key counts as stale.
+ */
+final class CricketerQueryInvalidation {
+
+    private final Set<Integer> ids = new HashSet<>();
+    private final List<Integer> runs = new ArrayList<>();
+    private final List<Integer> wickets = new ArrayList<>();
+    private boolean inserted;
+    private boolean nameChanged;
+
+    CricketerQueryInvalidation inserted(Cricketer cricketer) {
+        inserted = true;
+        return updated(cricketer, cricketer.getName() != null, cricketer.getRuns() != null,
+                cricketer.getWickets() != null);
+    }
+
+    CricketerQueryInvalidation updated(Cricketer cricketer, boolean name, boolean runsChanged, boolean wicketsChanged) {
+        ids.add(cricketer.getId());
+        nameChanged |= name;
+        if (runsChanged) {
+            runs.add(cricketer.getRuns());
+        }
+        if (wicketsChanged) {
+            wickets.add(cricketer.getWickets());
+        }
+        return this;
+    }
+
+    CricketerQueryInvalidation deleted(int id) {
+        ids.add(id);
+        return this;
+    }
+
+    boolean isEmpty() {
+        return ids.isEmpty();
+    }
+
+    boolean isStale(Object key, Object value) {
+        if (holdsWrittenRow(value)) {
+            return true;
+        }
+        if ("all".equals(key)) {
+            return inserted;
+        }
+        if (!(key instanceof List<?> parts) || parts.isEmpty()) {
+            return true;
+        }
+        return switch (String.valueOf(parts.get(0))) {
+            case "leaderboard" -> canEnterLeaderboard((CricketerStat) parts.get(1), (Integer) parts.get(2), value);
+            case "range" -> anyInRange(values((CricketerStat) parts.get(1)), (Integer) parts.get(2), (Integer) parts.get(3));
+            case "page" -> inserted || filterTestsChangedField((CricketerFilter) parts.get(3));
+            default -> true;
+        };
+    }
+
+    private boolean holdsWrittenRow(Object value) {
+        if (value instanceof Iterable<?> rows) {
+            for (Object row : rows) {
+                if (row instanceof Cricketer cricketer && ids.contains(cricketer.getId())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // A full leaderboard only changes if a new value reaches its lowest entry
+    private boolean canEnterLeaderboard(CricketerStat stat, int limit, Object value) {
+        List<Integer> values = values(stat);
+        if (values.isEmpty()) {
+            return false;
+        }
+        if (!(value instanceof List<?> rows) || rows.size() < limit
+                || !(rows.get(rows.size() - 1) instanceof Cricketer last)) {
+            return true;
+        }
+        int lowest = stat == CricketerStat.WICKETS ? last.getWickets() : last.getRuns();
+        for (int candidate : values) {
+            if (candidate >= lowest) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<Integer> values(CricketerStat stat) {
+        return stat == CricketerStat.WICKETS ? wickets : runs;
+    }
+
+    // Same bounds as getCricketersInRange
+    private static boolean anyInRange(List<Integer> values, Integer min, Integer max) {
+        int from = min == null ? 0 : min;
+        int to = max == null ? Integer.MAX_VALUE : max;
+        for (int value : values) {
+            if (value >= from && value <= to) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean filterTestsChangedField(CricketerFilter filter) {
+        if (filter == null) {
+            return false;
+        }
+        boolean name = filter.getNameContains() != null && !filter.getNameContains().isBlank();
+        boolean runsTested = filter.getMinRuns() != null || filter.getMaxRuns() != null;
+        boolean wicketsTested = filter.getMinWickets() != null || filter.getMaxWickets() != null;
+        return (name && nameChanged) || (runsTested && !runs.isEmpty()) || (wicketsTested && !wickets.isEmpty());
+    }
+}
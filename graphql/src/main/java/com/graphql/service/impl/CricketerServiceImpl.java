@@ -1,65 +1,293 @@
 package com.graphql.service.impl;
 
+import com.graphql.config.CacheConfig;
 import com.graphql.entity.Cricketer;
+import com.graphql.model.CricketerFilter;
+import com.graphql.model.CricketerInput;
+import com.graphql.model.CricketerOrder;
+import com.graphql.model.CricketerStat;
+import com.graphql.model.CricketerUpdatedEvent;
 import com.graphql.repo.CricketerRepo;
+import com.graphql.repo.CricketerSpecifications;
 import com.graphql.service.CricketerService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class CricketerServiceImpl implements CricketerService {
 
     private final CricketerRepo cricketerRepo;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+
+    @Value("${cricketer.import.batch-size:500}")
+    private int batchSize;
 
     @Override
+    @Transactional
     public String deleteCricketer(int id) {
         cricketerRepo.deleteById(id);
+        evictAfterCommit(List.of(id), new CricketerQueryInvalidation().deleted(id));
         return "Record Deleted !!!";
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.CRICKETERS, key = "#id")
     public Cricketer getCricketer(int id) {
         return cricketerRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("No Records found !!!"));
     }
 
     @Override
-    public Cricketer createCricketer(String name, String runs, String wickets) {
+    @Transactional
+    public Cricketer createCricketer(String name, Integer runs, Integer wickets) {
         Cricketer cricketer = new Cricketer();
         cricketer.setName(name);
         cricketer.setRuns(runs);
         cricketer.setWickets(wickets);
-        return cricketerRepo.save(cricketer);
+        Cricketer created = cricketerRepo.save(cricketer);
+        evictAfterCommit(List.of(), new CricketerQueryInvalidation().inserted(created));
+        return created;
     }
 
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.CRICKETER_QUERIES, key = "'all'")
     public List<Cricketer> getAllCricketers() {
         return cricketerRepo.findAll();
     }
 
     @Override
-    public Cricketer updateCricketer(int id, String name, String runs, String wickets) {
-        Optional<Cricketer> optionalCricketer = cricketerRepo.findById(id);
-        if (optionalCricketer.isPresent()) {
-            Cricketer cricketer = optionalCricketer.get();
-            if (name != null) {
-                cricketer.setName(name);
+    @Cacheable(cacheNames = CacheConfig.CRICKETER_QUERIES, key = "{'leaderboard', #stat, #limit}")
+    public List<Cricketer> getLeaderboard(CricketerStat stat, int limit) {
+        return stat == CricketerStat.WICKETS
+                ? cricketerRepo.findByWicketsNotNullOrderByWicketsDesc(Limit.of(limit))
+                : cricketerRepo.findByRunsNotNullOrderByRunsDesc(Limit.of(limit));
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.CRICKETER_QUERIES, key = "{'range', #stat, #min, #max, #limit}")
+    public List<Cricketer> getCricketersInRange(CricketerStat stat, Integer min, Integer max, int limit) {
+        int from = min == null ? 0 : min;
+        int to = max == null ? Integer.MAX_VALUE : max;
+        return stat == CricketerStat.WICKETS
+                ? cricketerRepo.findByWicketsBetweenOrderByWicketsDesc(from, to, Limit.of(limit))
+                : cricketerRepo.findByRunsBetweenOrderByRunsDesc(from, to, Limit.of(limit));
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.CRICKETER_QUERIES, key = "{'page', #position, #limit, #filter, #orderBy}")
+    public Window<Cricketer> getCricketers(ScrollPosition position, int limit, CricketerFilter filter,
+                                           CricketerOrder orderBy) {
+        // Keyset pagination on the primary key: each page is an index range scan after the cursor's id.
+        Sort sort = orderBy == CricketerOrder.ID_DESC ? Sort.by("id").descending() : Sort.by("id").ascending();
+        return cricketerRepo.findBy(CricketerSpecifications.matching(filter),
+                query -> query.sortBy(sort).limit(limit).scroll(position));
+    }
+
+    @Override
+    @Transactional
+    public Cricketer updateCricketer(int id, String name, Integer runs, Integer wickets, int version) {
+        if (name == null && runs == null && wickets == null) {
+            return getCricketer(id);
+        }
+        // One round trip: SET only the given columns and read the new row back with RETURNING
+        StringBuilder sql = new StringBuilder("UPDATE cricketer SET version = version + 1");
+        if (name != null) {
+            sql.append(", name = :name");
+        }
+        if (runs != null) {
+            sql.append(", runs = :runs");
+        }
+        if (wickets != null) {
+            sql.append(", wickets = :wickets");
+        }
+        // The version check is what stops two writers that read the same row from overwriting each other
+        sql.append(" WHERE id = :id AND version = :version");
+        sql.append(" RETURNING id, name, runs, wickets, version");
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        query.setParameter("id", id);
+        if (name != null) {
+            query.setParameter("name", name);
+        }
+        if (runs != null) {
+            query.setParameter("runs", runs);
+        }
+        if (wickets != null) {
+            query.setParameter("wickets", wickets);
+        }
+        query.setParameter("version", version);
+        List<?> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            if (cricketerRepo.existsById(id)) {
+                throw new OptimisticLockingFailureException(
+                        "Cricketer with id " + id + " has been modified since version " + version);
             }
-            if (runs != null) {
-                cricketer.setRuns(runs);
+            throw new RuntimeException("Cricketer with id " + id + " not found");
+        }
+        Object[] row = (Object[]) rows.get(0);
+        Cricketer updated = Cricketer.builder()
+                .id((Integer) row[0])
+                .name((String) row[1])
+                .runs((Integer) row[2])
+                .wickets((Integer) row[3])
+                .version((Integer) row[4])
+                .build();
+        eventPublisher.publishEvent(new CricketerUpdatedEvent(updated));
+        putAfterCommit(updated, new CricketerQueryInvalidation().updated(updated, name != null, runs != null, wickets != null));
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public List<Cricketer> createCricketers(List<CricketerInput> cricketers) {
+        List<Cricketer> created = new ArrayList<>(cricketers.size());
+        CricketerQueryInvalidation invalidation = new CricketerQueryInvalidation();
+        for (CricketerInput input : cricketers) {
+            Cricketer cricketer = new Cricketer();
+            cricketer.setName(input.getName());
+            cricketer.setRuns(input.getRuns());
+            cricketer.setWickets(input.getWickets());
+            entityManager.persist(cricketer);
+            invalidation.inserted(cricketer);
+            created.add(cricketer);
+            if (created.size() % batchSize == 0) {
+                flushBatch();
             }
-            if (wickets != null) {
-                cricketer.setWickets(wickets);
+        }
+        flushBatch();
+        evictAfterCommit(List.of(), invalidation);
+        return created;
+    }
+
+    @Override
+    @Transactional
+    public List<Cricketer> upsertCricketers(List<CricketerInput> cricketers) {
+        List<Cricketer> upserted = new ArrayList<>(cricketers.size());
+        List<Integer> updatedIds = new ArrayList<>();
+        CricketerQueryInvalidation invalidation = new CricketerQueryInvalidation();
+        for (int from = 0; from < cricketers.size(); from += batchSize) {
+            List<CricketerInput> chunk = cricketers.subList(from, Math.min(from + batchSize, cricketers.size()));
+            // One IN query per chunk instead of a findById per row
+            List<Integer> ids = new ArrayList<>();
+            for (CricketerInput input : chunk) {
+                if (input.getId() != null) {
+                    ids.add(input.getId());
+                }
             }
-            return cricketerRepo.save(cricketer);
-        } else {
-            throw new RuntimeException("Cricketer with id " + id + " not found");
+            Map<Integer, Cricketer> existing = new HashMap<>();
+            for (Cricketer cricketer : cricketerRepo.findAllById(ids)) {
+                existing.put(cricketer.getId(), cricketer);
+            }
+            for (CricketerInput input : chunk) {
+                Cricketer cricketer = input.getId() == null ? null : existing.get(input.getId());
+                if (cricketer == null) {
+                    // Unknown or missing id: insert with a generated id
+                    cricketer = new Cricketer();
+                    cricketer.setName(input.getName());
+                    cricketer.setRuns(input.getRuns());
+                    cricketer.setWickets(input.getWickets());
+                    entityManager.persist(cricketer);
+                    invalidation.inserted(cricketer);
+                } else {
+                    // Same rules as updateCricketer: null fields are left unchanged; dirty checking issues the UPDATE
+                    if (input.getName() != null) {
+                        cricketer.setName(input.getName());
+                    }
+                    if (input.getRuns() != null) {
+                        cricketer.setRuns(input.getRuns());
+                    }
+                    if (input.getWickets() != null) {
+                        cricketer.setWickets(input.getWickets());
+                    }
+                    eventPublisher.publishEvent(new CricketerUpdatedEvent(cricketer));
+                    invalidation.updated(cricketer, input.getName() != null, input.getRuns() != null,
+                            input.getWickets() != null);
+                    updatedIds.add(cricketer.getId());
+                }
+                upserted.add(cricketer);
+            }
+            flushBatch();
+        }
+        evictAfterCommit(updatedIds, invalidation);
+        return upserted;
+    }
+
+    // Only the rows this write changed leave the by-id cache, and only once their new values are committed
+    private void evictAfterCommit(List<Integer> ids, CricketerQueryInvalidation invalidation) {
+        Cache cache = cacheManager.getCache(CacheConfig.CRICKETERS);
+        afterCommit(() -> {
+            if (cache != null) {
+                ids.forEach(cache::evict);
+            }
+            evictQueries(invalidation);
+        });
+    }
+
+    // Concurrent updates can commit in one order and run their callbacks in the other, so the higher version wins
+    private void putAfterCommit(Cricketer updated, CricketerQueryInvalidation invalidation) {
+        Cache cache = cacheManager.getCache(CacheConfig.CRICKETERS);
+        afterCommit(() -> {
+            if (cache instanceof CaffeineCache caffeine) {
+                caffeine.getNativeCache().asMap().merge(updated.getId(), updated, (cached, fresh) ->
+                        cached instanceof Cricketer current && current.getVersion() > updated.getVersion() ? cached : fresh);
+            }
+            evictQueries(invalidation);
+        });
+    }
+
+    // Drops only the list results the write can have changed; see CricketerQueryInvalidation
+    private void evictQueries(CricketerQueryInvalidation invalidation) {
+        if (invalidation.isEmpty()) {
+            return;
+        }
+        Cache queries = cacheManager.getCache(CacheConfig.CRICKETER_QUERIES);
+        if (queries instanceof CaffeineCache caffeine) {
+            caffeine.getNativeCache().asMap().entrySet()
+                    .removeIf(entry -> invalidation.isStale(entry.getKey(), entry.getValue()));
+        } else if (queries != null) {
+            queries.clear();
         }
     }
 
+    // Cache writes wait for the commit, so a rolled-back or conflicting write never reaches a cache
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Sends the pending inserts/updates as JDBC batches and detaches them so the persistence context stays small
+    private void flushBatch() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
 }
@@ -0,0 +1,86 @@
+package com.graphql.service.impl;
+
+import com.graphql.config.CacheConfig;
+import com.graphql.entity.Cricketer;
+import com.graphql.model.CricketerStat;
+import com.graphql.repo.ReactiveCricketerRepo;
+import com.graphql.service.ReactiveCricketerService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Reads through the same caches, under the same keys, as CricketerServiceImpl, so a result cached by either data
+ * path serves the other and the writes' evictions apply to both. Caffeine lookups do not block, so they run inline.
+ */
+@Service
+@ConditionalOnProperty(name = "cricketer.data-access", havingValue = "r2dbc")
+public class ReactiveCricketerServiceImpl implements ReactiveCricketerService {
+
+    private final ReactiveCricketerRepo reactiveCricketerRepo;
+    private final Cache cricketers;
+    private final Cache queries;
+
+    public ReactiveCricketerServiceImpl(ReactiveCricketerRepo reactiveCricketerRepo, CacheManager cacheManager) {
+        this.reactiveCricketerRepo = reactiveCricketerRepo;
+        this.cricketers = cacheManager.getCache(CacheConfig.CRICKETERS);
+        this.queries = cacheManager.getCache(CacheConfig.CRICKETER_QUERIES);
+    }
+
+    @Override
+    public Mono<Cricketer> getCricketer(int id) {
+        return Mono.defer(() -> {
+            Cricketer cached = cricketers.get(id, Cricketer.class);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            return reactiveCricketerRepo.findById(id)
+                    .doOnNext(cricketer -> cricketers.put(id, cricketer))
+                    .switchIfEmpty(Mono.error(() -> new RuntimeException("No Records found !!!")));
+        });
+    }
+
+    @Override
+    public Flux<Cricketer> getAllCricketers() {
+        return cachedQuery("all", reactiveCricketerRepo::findAll);
+    }
+
+    @Override
+    public Flux<Cricketer> getLeaderboard(CricketerStat stat, int limit) {
+        return cachedQuery(Arrays.asList("leaderboard", stat, limit), () -> stat == CricketerStat.WICKETS
+                ? reactiveCricketerRepo.findByWicketsNotNullOrderByWicketsDesc(Limit.of(limit))
+                : reactiveCricketerRepo.findByRunsNotNullOrderByRunsDesc(Limit.of(limit)));
+    }
+
+    @Override
+    public Flux<Cricketer> getCricketersInRange(CricketerStat stat, Integer min, Integer max, int limit) {
+        int from = min == null ? 0 : min;
+        int to = max == null ? Integer.MAX_VALUE : max;
+        return cachedQuery(Arrays.asList("range", stat, min, max, limit), () -> stat == CricketerStat.WICKETS
+                ? reactiveCricketerRepo.findByWicketsBetweenOrderByWicketsDesc(from, to, Limit.of(limit))
+                : reactiveCricketerRepo.findByRunsBetweenOrderByRunsDesc(from, to, Limit.of(limit)));
+    }
+
+    // Keys equal the SpEL list keys on CricketerServiceImpl's @Cacheable methods, and values are the same List type
+    @SuppressWarnings("unchecked")
+    private Flux<Cricketer> cachedQuery(Object key, Supplier<Flux<Cricketer>> query) {
+        return Flux.defer(() -> {
+            List<Cricketer> cached = queries.get(key, List.class);
+            if (cached != null) {
+                return Flux.fromIterable(cached);
+            }
+            return query.get()
+                    .collectList()
+                    .doOnNext(result -> queries.put(key, result))
+                    .flatMapMany(Flux::fromIterable);
+        });
+    }
+}
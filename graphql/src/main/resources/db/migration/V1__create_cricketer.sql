@@ -0,0 +1,8 @@
+-- Table as previously created by hibernate.ddl-auto=update. Existing databases are baselined at this version.
+CREATE TABLE IF NOT EXISTS cricketer
+(
+    id      integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name    varchar(255),
+    runs    varchar(255),
+    wickets varchar(255)
+);
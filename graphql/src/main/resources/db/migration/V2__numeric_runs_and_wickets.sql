@@ -0,0 +1,31 @@
+-- Store runs and wickets as integers so they can be indexed, sorted and range-filtered in the database.
+-- Only whole numbers are converted, with or without thousands separators ('10,122' -> 10122, '-3' -> -3).
+-- Blank, 'NA' and '-' mean "no value" and become NULL. Anything else, such as '12.5' or '1a2', also becomes NULL
+-- rather than being guessed at, and each such value is reported as a warning in the migration log.
+DO $$
+DECLARE
+    rejected record;
+BEGIN
+    FOR rejected IN
+        SELECT id, 'runs' AS stat, runs AS value FROM cricketer
+        WHERE NOT (trim(runs) ~ '^-?([0-9]+|[0-9]{1,3}(,[0-9]{3})+)$' OR upper(trim(runs)) IN ('', 'NA', '-'))
+        UNION ALL
+        SELECT id, 'wickets', wickets FROM cricketer
+        WHERE NOT (trim(wickets) ~ '^-?([0-9]+|[0-9]{1,3}(,[0-9]{3})+)$' OR upper(trim(wickets)) IN ('', 'NA', '-'))
+        ORDER BY id
+    LOOP
+        RAISE WARNING 'cricketer %: % value ''%'' is not a whole number and is stored as NULL',
+            rejected.id, rejected.stat, rejected.value;
+    END LOOP;
+END $$;
+
+ALTER TABLE cricketer
+    ALTER COLUMN runs TYPE integer USING CASE
+        WHEN trim(runs) ~ '^-?([0-9]+|[0-9]{1,3}(,[0-9]{3})+)$' THEN replace(trim(runs), ',', '')::integer
+    END,
+    ALTER COLUMN wickets TYPE integer USING CASE
+        WHEN trim(wickets) ~ '^-?([0-9]+|[0-9]{1,3}(,[0-9]{3})+)$' THEN replace(trim(wickets), ',', '')::integer
+    END;
+
+CREATE INDEX IF NOT EXISTS idx_cricketer_runs ON cricketer (runs);
+CREATE INDEX IF NOT EXISTS idx_cricketer_wickets ON cricketer (wickets);
@@ -0,0 +1,8 @@
+-- Replace the identity column with a sequence that hands out ids in blocks of 50 (Hibernate's pooled optimizer),
+-- so inserts can be batched. The sequence starts past the current ids; the column default keeps plain SQL inserts working.
+CREATE SEQUENCE IF NOT EXISTS cricketer_seq INCREMENT BY 50;
+SELECT setval('cricketer_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM cricketer), false);
+
+ALTER TABLE cricketer ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE cricketer ALTER COLUMN id SET DEFAULT nextval('cricketer_seq');
+ALTER SEQUENCE cricketer_seq OWNED BY cricketer.id;
@@ -0,0 +1,2 @@
+-- Optimistic locking: every update increments version, and a write that names a stale version matches no row.
+ALTER TABLE cricketer ADD COLUMN IF NOT EXISTS version integer NOT NULL DEFAULT 0;